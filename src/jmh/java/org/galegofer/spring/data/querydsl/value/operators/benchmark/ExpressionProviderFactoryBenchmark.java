@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators.benchmark;
+
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import org.galegofer.spring.data.querydsl.value.operators.ExpressionProviderFactory;
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContext;
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContextHolder;
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmarks {@link ExpressionProviderFactory#getPredicate(Path, Object)} for each of the built-in expression
+ * providers, varying the number of values, the nesting depth of value operators and the presence of a
+ * {@link QuerydslHttpRequestContext} on the benchmark thread.
+ * <p>
+ * Run with <code>mvn -P benchmarks test-compile exec:exec</code>, which reports throughput along with the allocation
+ * rate of the gc profiler.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionProviderFactoryBenchmark {
+
+    @Param({"STRING", "NUMBER", "ENUM", "DATE_TIME"})
+    private Provider provider;
+
+    @Param({"1", "10", "1000"})
+    private int valueCount;
+
+    @Param({"false", "true"})
+    private boolean nested;
+
+    @Param({"false", "true"})
+    private boolean withContext;
+
+    private Path<?> path;
+    private List<String> values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ExpressionProviderFactory.setSupportsUnTypedValues(provider.supportsUnTypedValues);
+        path = provider.path;
+        values = new ArrayList<>(valueCount);
+        for (var i = 0; i < valueCount; i++) {
+            values.add(nested ? provider.nestedValue.apply(i) : provider.plainValue.apply(i));
+        }
+
+        if (withContext) {
+            final var request = new MockHttpServletRequest();
+            request.addParameter(provider.parameterName, values.toArray(String[]::new));
+            QuerydslHttpRequestContextHolder.setContext(new QuerydslHttpRequestContext(QUser.user, request));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        QuerydslHttpRequestContextHolder.clearContext();
+        ExpressionProviderFactory.setSupportsUnTypedValues(false);
+    }
+
+    @Benchmark
+    public Optional<Predicate> getPredicate() {
+        return ExpressionProviderFactory.getPredicate(path, values);
+    }
+
+    public enum Provider {
+
+        STRING(QUser.user.userName, "userName", false,
+            i -> "user" + i,
+            i -> "not(ci(contains(user" + i + ")))"),
+
+        NUMBER(QUser.user.profile.age, "profile.age", false,
+            Integer::toString,
+            i -> "not(gte(" + i + "))"),
+
+        // string operators on enums are only supported for un-typed values
+        ENUM(QUser.user.status, "status", true,
+            i -> i % 2 == 0 ? "ACTIVE" : "LOCKED",
+            i -> i % 2 == 0 ? "not(ci(contains(act)))" : "not(ci(contains(lock)))"),
+
+        DATE_TIME(QUser.user.creationDate, "creationDate", false,
+            i -> String.format("04/%02d/1980 00:00:00 UTC", i % 28 + 1),
+            // date-times don't support NOT, hence nesting comparisons in compositions
+            i -> String.format(i % 2 == 0 ? "gte(04/%02d/1980 00:00:00 UTC)" : "and(lte(04/%02d/1980 00:00:00 UTC))",
+                i % 28 + 1));
+
+        private final Path<?> path;
+        private final String parameterName;
+        private final boolean supportsUnTypedValues;
+        private final IntFunction<String> plainValue;
+        private final IntFunction<String> nestedValue;
+
+        Provider(Path<?> path, String parameterName, boolean supportsUnTypedValues, IntFunction<String> plainValue,
+                 IntFunction<String> nestedValue) {
+            this.path = path;
+            this.parameterName = parameterName;
+            this.supportsUnTypedValues = supportsUnTypedValues;
+            this.plainValue = plainValue;
+            this.nestedValue = nestedValue;
+        }
+    }
+}
@@ -1,39 +1,129 @@
 package org.galegofer.spring.data.querydsl.value.operators;
 
+import com.querydsl.core.types.Ops;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContextHolder;
 import org.springframework.util.CollectionUtils;
 
-import java.text.MessageFormat;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static org.galegofer.spring.data.querydsl.value.operators.ExpressionProvider.validateComposition;
-
 
 abstract class BaseExpressionProvider<P extends Path> implements ExpressionProvider<P, Object> {
 
-    private final List<Operator> supportedSingleValuedComparisonOperators;
+    /**
+     * Expression an operator implementation can return when every value of the path is matched. It is folded away
+     * while composing expressions, a search matching everything yields no predicate at all.
+     */
+    protected static final BooleanExpression MATCH_ALL = Expressions.TRUE.isTrue();
+
+    /**
+     * Expression an operator implementation can return when no value of the path can be matched. It is folded
+     * while composing expressions, a search matching nothing yields {@link #matchNone(Path)}.
+     */
+    protected static final BooleanExpression MATCH_NONE = Expressions.FALSE.isTrue();
+
+    private final Set<Operator> supportedSingleValuedComparisonOperators;
 
     public BaseExpressionProvider(List<Operator> supportedSingleValueComparisonOperators) {
         Validate.isTrue(!CollectionUtils.isEmpty(supportedSingleValueComparisonOperators),
                 "Supported Single value" + " operators must be > 1");
-        this.supportedSingleValuedComparisonOperators = supportedSingleValueComparisonOperators;
+        this.supportedSingleValuedComparisonOperators = EnumSet.copyOf(supportedSingleValueComparisonOperators);
     }
 
     @Override
     public Optional<BooleanExpression> getExpression(P path, Object value) {
-        return Optional.ofNullable(path)
-                .map(p -> value)
-                .map(v -> (Collection.class.isAssignableFrom(v.getClass()))
-                        ? new MultiValueExpressionBuilder(path, (Collection) v).getExpression()
-                        : new MultiValueExpressionBuilder(path, List.of(
-                        getStringValue(path, v))).getExpression());
+        if (path == null || value == null) {
+            return Optional.empty();
+        }
+
+        final List<String> values = resolveValues(path, (Collection.class.isAssignableFrom(value.getClass()))
+                ? (Collection) value
+                : List.of(value));
+        final var nodes = map(values, current -> {
+            final var node = OperatorValueParser.parse(current);
+            node.validateComposition();
+            return node;
+        });
+        // cost is charged before any expression is built, even for cached predicates which are executed all the same
+        ExpressionProviderFactory.getQueryCostModel()
+                .ifPresent(model -> model.charge(path, nodes));
+        final var cache = ExpressionProviderFactory.getPredicateCache();
+
+        return cache != null
+                ? cache.get(path, values, () -> buildExpression(path, nodes))
+                : buildExpression(path, nodes);
+    }
+
+    /**
+     * Builds an expression from parsed values, without looking up original request values, charging query cost or
+     * caching, which are all left to the caller (see {@link RequestPredicateCompiler}).
+     *
+     * @param path  Specific type of {@link Path}
+     * @param nodes parsed values (including value operators), whose composition is valid
+     * @return {@link Optional} of {@link BooleanExpression} built from supplied values
+     */
+    Optional<BooleanExpression> buildExpression(P path, List<OperatorValueNode> nodes) {
+        final var expression = new MultiValueExpressionBuilder(path, nodes).getExpression();
+        if (expression == MATCH_ALL) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(expression == MATCH_NONE
+                ? matchNone(path)
+                : expression);
     }
 
+    /**
+     * Applies a function to every value, in parallel for large value lists if enabled by
+     * {@link ExpressionProviderFactory#enableParallelParsing(int, java.util.concurrent.ForkJoinPool)}.
+     *
+     * @return results in the order of supplied values
+     */
+    private static <T, R> List<R> map(List<T> values, Function<? super T, ? extends R> function) {
+        final var parallelParsing = ExpressionProviderFactory.getParallelParsing();
+        if (parallelParsing != null) {
+            return parallelParsing.map(values, function);
+        }
+
+        final var result = new ArrayList<R>(values.size());
+        for (T value : values) {
+            result.add(function.apply(value));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the raw values (including value operators) an expression is built from, which are the values from
+     * original request if available or else the values supplied by bindings.
+     *
+     * @param path   Specific type of {@link Path}
+     * @param values Values as received from bindings invoker.
+     * @return trimmed String values, never <code>null</code>
+     */
+    private List<String> resolveValues(P path, Collection<Object> values) {
+        if (CollectionUtils.isEmpty(values)) {
+            return List.of();
+        }
+
+        final Collection<Object> effectiveValues = values.size() == 1
+                ? Collections.singletonList(checkIfOriginalRequestValueAvailable(path, getStringValue(path,
+                values.iterator()
+                        .next())))
+                : checkIfOriginalRequestValuesAvailable(path, values);
+
+        final var result = new ArrayList<String>(effectiveValues.size());
+        for (Object value : effectiveValues) {
+            if (value != null) {
+                result.add(StringUtils.trim(getStringValue(path, value)));
+            }
+        }
+        return result;
+    }
 
     /**
      * Returns String value for provided object (value supplied by bindings
@@ -45,6 +135,18 @@ abstract class BaseExpressionProvider<P extends Path> implements ExpressionProvi
      */
     protected abstract <S extends String> S getStringValue(P path, Object value);
 
+    /**
+     * Validates a value before any expression is built for it, invoked for every comparison operator (i.e. other
+     * than {@link Operator#NOT} and {@link Operator#CASE_IGNORE}) of every value of a search.
+     *
+     * @param path     Specific type of {@link Path}
+     * @param operator comparison operator the value is searched with
+     * @param value    String value to validate
+     * @throws IllegalArgumentException if the value is invalid
+     */
+    protected void validate(P path, Operator operator, String value) {
+    }
+
     /**
      * Creates a expression for equals clause - {@link Operator#EQUAL} operator
      *
@@ -169,6 +271,85 @@ abstract class BaseExpressionProvider<P extends Path> implements ExpressionProvi
      */
     protected abstract BooleanExpression lte(P path, String value);
 
+    /**
+     * Creates a expression for equality with any of the provided values, used for composing multiple OR-ed
+     * {@link Operator#EQUAL} values. The default implementation composes {@link #eq(Path, String, boolean)}
+     * expressions, implementations should create an IN clause instead.
+     *
+     * @param path       Specific type of {@link Path}
+     * @param values     String values to be used for making expression.
+     * @param ignoreCase if comparison must be done ignoring case if case is applicable to target value type.
+     * @return {@link BooleanExpression} to be used further by downstream query
+     * serialization logic for executing actual query
+     */
+    protected BooleanExpression in(P path, List<String> values, boolean ignoreCase) {
+        final var expressions = new ArrayList<BooleanExpression>(values.size());
+        for (String value : values) {
+            expressions.add(eq(path, value, ignoreCase));
+        }
+        return anyOf(expressions);
+    }
+
+    /**
+     * Creates a expression for inequality with all of the provided values, used for composing multiple AND-ed
+     * {@link Operator#NOT_EQUAL} (or negated {@link Operator#EQUAL}) values. The default implementation composes
+     * {@link #ne(Path, String, boolean)} expressions, implementations should create a NOT IN clause instead.
+     *
+     * @param path       Specific type of {@link Path}
+     * @param values     String values to be used for making expression.
+     * @param ignoreCase if comparison must be done ignoring case if case is applicable to target value type.
+     * @return {@link BooleanExpression} to be used further by downstream query
+     * serialization logic for executing actual query
+     */
+    protected BooleanExpression notIn(P path, List<String> values, boolean ignoreCase) {
+        final var expressions = new ArrayList<BooleanExpression>(values.size());
+        for (String value : values) {
+            expressions.add(ne(path, value, ignoreCase));
+        }
+        return allOf(expressions);
+    }
+
+    /**
+     * Converts a value into the (typed) value it is compared with by {@link #gt(Path, String)},
+     * {@link #gte(Path, String)}, {@link #lt(Path, String)}, {@link #lte(Path, String)} and
+     * {@link #eq(Path, String, boolean)}, which enables coalescing multiple comparisons of a search into ranges. The
+     * default implementation returns <code>null</code>, i.e. values of the path aren't ordered.
+     *
+     * @param path  Specific type of {@link Path}
+     * @param value String value to convert.
+     * @return value ordered the same way as by the underlying store, <code>null</code> if values aren't ordered
+     * @throws IllegalArgumentException if the value is invalid
+     */
+    protected Comparable<?> toComparable(P path, String value) {
+        return null;
+    }
+
+    /**
+     * Creates a expression for the inclusive range between provided values, used for composing coalesced
+     * comparisons. The default implementation composes {@link #gte(Path, String)} and {@link #lte(Path, String)}
+     * expressions, implementations should create a BETWEEN clause instead.
+     *
+     * @param path Specific type of {@link Path}
+     * @param from String value of lower bound (inclusive).
+     * @param to   String value of upper bound (inclusive).
+     * @return {@link BooleanExpression} to be used further by downstream query
+     * serialization logic for executing actual query
+     */
+    protected BooleanExpression between(P path, String from, String to) {
+        return and(gte(path, from), lte(path, to));
+    }
+
+    /**
+     * Creates the expression a search matching no value of the path resolves to, by default a constant false
+     * expression.
+     *
+     * @param path Specific type of {@link Path}
+     * @return {@link BooleanExpression} never satisfied by any value of the path
+     */
+    protected BooleanExpression matchNone(P path) {
+        return MATCH_NONE;
+    }
+
     /**
      * Applies a logical NOT (negate) to provided expression.
      *
@@ -178,6 +359,11 @@ abstract class BaseExpressionProvider<P extends Path> implements ExpressionProvi
      */
     protected final BooleanExpression not(BooleanExpression expression) {
         Validate.notNull(expression);
+        if (expression == MATCH_ALL) {
+            return MATCH_NONE;
+        } else if (expression == MATCH_NONE) {
+            return MATCH_ALL;
+        }
         return expression.not();
     }
 
@@ -192,6 +378,11 @@ abstract class BaseExpressionProvider<P extends Path> implements ExpressionProvi
     protected final BooleanExpression and(BooleanExpression left, BooleanExpression right) {
         Validate.notNull(left);
         Validate.notNull(right);
+        if (left == MATCH_NONE || right == MATCH_ALL) {
+            return left;
+        } else if (right == MATCH_NONE || left == MATCH_ALL) {
+            return right;
+        }
         return left.and(right);
     }
 
@@ -206,125 +397,316 @@ abstract class BaseExpressionProvider<P extends Path> implements ExpressionProvi
     protected final BooleanExpression or(BooleanExpression left, BooleanExpression right) {
         Validate.notNull(left);
         Validate.notNull(right);
+        if (left == MATCH_ALL || right == MATCH_NONE) {
+            return left;
+        } else if (right == MATCH_ALL || left == MATCH_NONE) {
+            return right;
+        }
         return left.or(right);
     }
 
+    /**
+     * Applies logical AND clause to all provided expressions, composed as a balanced tree so that the depth of the
+     * composed expression (and of its serialization) grows logarithmically with the number of expressions.
+     *
+     * @param expressions operands for AND operation, must not be empty
+     * @return expression with AND clause applied to provided values, this
+     * must be used further in expression-building process
+     */
+    protected final BooleanExpression allOf(List<BooleanExpression> expressions) {
+        Validate.notEmpty(expressions);
+        return compose(expressions, 0, expressions.size(), true);
+    }
+
+    /**
+     * Applies logical OR clause to all provided expressions, composed as a balanced tree so that the depth of the
+     * composed expression (and of its serialization) grows logarithmically with the number of expressions.
+     *
+     * @param expressions operands for OR operation, must not be empty
+     * @return expression with OR clause applied to provided values, this
+     * must be used further in expression-building process
+     */
+    protected final BooleanExpression anyOf(List<BooleanExpression> expressions) {
+        Validate.notEmpty(expressions);
+        return compose(expressions, 0, expressions.size(), false);
+    }
+
+    private BooleanExpression compose(List<BooleanExpression> expressions, int from, int to, boolean and) {
+        if (to - from == 1) {
+            return expressions.get(from);
+        }
+        // left half takes the extra operand, so that up to three operands compose as a left-deep chain
+        final var middle = from + (to - from + 1) / 2;
+        final var left = compose(expressions, from, middle, and);
+        final var right = compose(expressions, middle, to, and);
+        return and
+                ? and(left, right)
+                : or(left, right);
+    }
+
     /**
      * Utility class for building stateful expressions from provided values
      */
     private class MultiValueExpressionBuilder {
 
         private final P path;
-        private final Collection<Object> values;
-        private BooleanExpression expression;
+        private final List<SingleValueExpressionBuilder> builders;
+        private final List<Operator> operators;
 
-        private static final Collection<Operator> MULTI_VALUE_LOGICAL_OPERATORS = List.of(Operator.AND, Operator.OR);
+        private static final Set<Operator> MULTI_VALUE_LOGICAL_OPERATORS = EnumSet.of(Operator.AND, Operator.OR);
 
-        public MultiValueExpressionBuilder(P path, Collection<Object> values) {
+        /**
+         * Validates all values upfront, so that an invalid value fails the search before any expression is built.
+         */
+        public MultiValueExpressionBuilder(P path, List<OperatorValueNode> nodes) {
             this.path = path;
-            this.values = values;
-            this.values.forEach(v -> validateComposition(getStringValue(path, v)));
+            this.operators = new ArrayList<>(nodes.size());
+
+            final var operands = new ArrayList<OperatorValueNode>(nodes.size());
+            Operator defaultOperator = null;
+            for (OperatorValueNode node : nodes) {
+                final var explicit = MULTI_VALUE_LOGICAL_OPERATORS.contains(node.getOperator());
+                final var operator = explicit
+                        ? node.getOperator()
+                        : defaultOperator != null
+                        ? defaultOperator
+                        : Operator.OR;
+                if (defaultOperator == null)
+                    defaultOperator = operator;
+
+                this.operators.add(operator);
+                operands.add(explicit
+                        ? node.getOperand()
+                        : node);
+            }
+            this.builders = map(operands, operand -> new SingleValueExpressionBuilder(path, operand));
         }
 
         public BooleanExpression getExpression() {
-            if (!CollectionUtils.isEmpty(this.values)) {
-                if (this.values.size() == 1) {
-                    var value = checkIfOriginalRequestValueAvailable(path,
-                            getStringValue(path, this.values.iterator()
-                                    .next()));
-                    while (true) {
-                        if (ExpressionProvider
-                                .isOperator(MULTI_VALUE_LOGICAL_OPERATORS
-                                        .toArray(new Operator[0]), value)
-                                .isPresent()) {
-                            value = new OperatorAndValue(value, MULTI_VALUE_LOGICAL_OPERATORS, Operator.OR).getValue();
-                        }
-
-                        break;
-                    }
+            if (this.builders.size() == 1) {
+                return this.builders.get(0).getExpression();
+            }
 
-                    return new SingleValueExpressionBuilder(path, value)
-                            .getExpression();
+            // values between changes of the logical operator are composed at once, as a balanced tree
+            final var terms = new ArrayList<BooleanExpression>();
+            Operator termsOperator = null;
+            for (var i = 0; i < this.builders.size(); ) {
+                final var operator = this.operators.get(i);
+                final BooleanExpression current;
+                final var end = endOfEqualityRun(i);
+                if (end - i > 1) {
+                    current = getEqualityRunExpression(i, end);
+                    i = end;
                 } else {
-                    Operator defaultOperator = null;
-
-                    for (Object values : checkIfOriginalRequestValuesAvailable(path, values).stream()
-                            .filter(Objects::nonNull)
-                            .toList()) {
-                        final var value = getStringValue(this.path, values);
-                        final var operatorAndValue = new OperatorAndValue(value,
-                                MULTI_VALUE_LOGICAL_OPERATORS,
-                                defaultOperator != null
-                                        ? defaultOperator
-                                        : Operator.OR);
-                        if (defaultOperator == null && !Operator.NOT.equals(operatorAndValue.getOperator()))
-                            defaultOperator = operatorAndValue.getOperator();
-
-                        final SingleValueExpressionBuilder singleValueExpressionBuilder = new SingleValueExpressionBuilder(path,
-                                Operator.NOT.equals(operatorAndValue.getOperator())
-                                        ? value
-                                        : operatorAndValue.getValue());
-                        final var current = singleValueExpressionBuilder.getExpression();
-
-                        if (current == null) {
-                            continue;
-                        }
-
-                        if (expression == null) {
-                            expression = current;
-                        } else {
-                            // compose
-                            switch (operatorAndValue.getOperator()) {
-                                case AND -> expression = and(expression, current);
-                                case OR, NOT -> expression = or(expression, current);
-                                default -> {
-                                    final var msg = MessageFormat.format(
-                                            "Illegal operator: {0}, Search Parameter: " + "{1}, Value: {2}",
-                                            operatorAndValue.getOperator()
-                                                    .toString(),
-                                            path.toString(),
-                                            value);
-                                    throw new IllegalArgumentException(msg);
-                                }
-                            }
-                        }
+                    final var ranges = getRangeRun(i);
+                    if (ranges.size() > 1) {
+                        current = getRangeRunExpression(ranges, Operator.AND.equals(this.operators.get(i + 1)));
+                        i += ranges.size();
+                    } else {
+                        current = this.builders.get(i).getExpression();
+                        i++;
                     }
                 }
+
+                if (current == null) {
+                    continue;
+                }
+
+                if (terms.size() > 1 && !operator.equals(termsOperator)) {
+                    final var composed = compose(terms, termsOperator);
+                    terms.clear();
+                    terms.add(composed);
+                }
+                if (!terms.isEmpty()) {
+                    termsOperator = operator;
+                }
+                terms.add(current);
+            }
+            return terms.isEmpty()
+                    ? null
+                    : compose(terms, termsOperator);
+        }
+
+        private BooleanExpression compose(List<BooleanExpression> terms, Operator operator) {
+            return Operator.AND.equals(operator)
+                    ? allOf(terms)
+                    : anyOf(terms);
+        }
+
+        /**
+         * Finds the run of values starting at supplied index which are all equalities (OR-ed) or all negated
+         * equalities (AND-ed) with same case sensitivity, which can be composed as a single IN or NOT IN.
+         *
+         * @return index after the last value of the run
+         */
+        private int endOfEqualityRun(int start) {
+            final var first = this.builders.get(start).getEquality();
+            if (first == null) {
+                return start + 1;
+            }
+
+            final var runOperator = first.negated()
+                    ? Operator.AND
+                    : Operator.OR;
+            if (start > 0 && !runOperator.equals(this.operators.get(start))) {
+                return start + 1;
+            }
+
+            var end = start + 1;
+            while (end < this.builders.size() && runOperator.equals(this.operators.get(end))) {
+                final var equality = this.builders.get(end).getEquality();
+                if (equality == null || equality.negated() != first.negated()
+                        || equality.ignoreCase() != first.ignoreCase()) {
+                    break;
+                }
+                end++;
+            }
+            return end;
+        }
+
+        private BooleanExpression getEqualityRunExpression(int start, int end) {
+            final var first = this.builders.get(start).getEquality();
+            final var values = new ArrayList<String>(end - start);
+            for (var i = start; i < end; i++) {
+                values.add(this.builders.get(i).getEquality().value());
+            }
+            return first.negated()
+                    ? notIn(path, values, first.ignoreCase())
+                    : in(path, values, first.ignoreCase());
+        }
+
+        /**
+         * Finds the run of values starting at supplied index which are all comparisons of an ordered path (AND-ed
+         * comparisons or equalities, or OR-ed comparisons), which can be coalesced into ranges.
+         *
+         * @return ranges of the values of the run, in order
+         */
+        private List<ValueRange> getRangeRun(int start) {
+            if (start + 1 >= this.builders.size()) {
+                return List.of();
+            }
+
+            final var runOperator = this.operators.get(start + 1);
+            if (start > 0 && !runOperator.equals(this.operators.get(start))) {
+                return List.of();
+            }
+
+            final var ranges = new ArrayList<ValueRange>();
+            for (var i = start; i < this.builders.size() && (i == start || runOperator.equals(this.operators.get(i)));
+                 i++) {
+                final var range = this.builders.get(i).getRange(Operator.AND.equals(runOperator));
+                if (range == null) {
+                    break;
+                }
+                ranges.add(range);
+            }
+            return ranges;
+        }
+
+        /**
+         * Intersects AND-ed ranges, so that subsumed bounds are dropped and contradicting bounds match nothing, or
+         * unites OR-ed ranges, so that overlapping ranges are merged.
+         */
+        private BooleanExpression getRangeRunExpression(List<ValueRange> ranges, boolean intersect) {
+            if (intersect) {
+                var result = ranges.get(0);
+                for (var i = 1; i < ranges.size(); i++) {
+                    result = result.intersect(ranges.get(i));
+                }
+                return result.isEmpty()
+                        ? MATCH_NONE
+                        : getRangeExpression(result);
+            }
+
+            final var union = ValueRange.union(ranges);
+            final var expressions = new ArrayList<BooleanExpression>(union.size());
+            for (ValueRange range : union) {
+                if (range.isUnbounded()) {
+                    // comparisons are never satisfied by null values
+                    return Expressions.booleanOperation(Ops.IS_NOT_NULL, path);
+                }
+                expressions.add(getRangeExpression(range));
             }
-            return expression;
+            return anyOf(expressions);
         }
+
+        private BooleanExpression getRangeExpression(ValueRange range) {
+            final var lower = range.getLower();
+            final var upper = range.getUpper();
+            if (range.isSingleValue()) {
+                return eq(path, lower.text(), false);
+            } else if (lower != null && upper != null && lower.inclusive() && upper.inclusive()) {
+                return between(path, lower.text(), upper.text());
+            }
+
+            final var lowerExpression = lower == null
+                    ? null
+                    : lower.inclusive()
+                    ? gte(path, lower.text())
+                    : gt(path, lower.text());
+            final var upperExpression = upper == null
+                    ? null
+                    : upper.inclusive()
+                    ? lte(path, upper.text())
+                    : lt(path, upper.text());
+            if (lowerExpression == null || upperExpression == null) {
+                return lowerExpression == null
+                        ? upperExpression
+                        : lowerExpression;
+            }
+            return and(lowerExpression, upperExpression);
+        }
+    }
+
+    /**
+     * Equality comparison a chain of operators reduces to, for e.g. <code>not(ci(eq(abc)))</code> reduces to a
+     * negated case insensitive equality with <code>abc</code>.
+     */
+    private record Equality(boolean negated, boolean ignoreCase, String value) {
     }
 
     private class SingleValueExpressionBuilder {
         private final P path;
         private final String value;
         private final Operator operator;
-        private SingleValueExpressionBuilder parent;
-        private SingleValueExpressionBuilder next;
-        private boolean ignoreCase = false;
-
-        public SingleValueExpressionBuilder(P path, String value) {
-            this.path = path;
-
-            final var operatorAndValue = new OperatorAndValue(value, supportedSingleValuedComparisonOperators,
-                    Operator.EQUAL);
-            this.operator = operatorAndValue.getOperator();
-            this.value = operatorAndValue.getValue();
+        private final SingleValueExpressionBuilder parent;
+        private final SingleValueExpressionBuilder next;
+        private final boolean ignoreCase;
 
-            init(path, operatorAndValue);
+        public SingleValueExpressionBuilder(P path, OperatorValueNode node) {
+            this(path, node, null, false);
         }
 
-        private SingleValueExpressionBuilder(final P path, String value, final SingleValueExpressionBuilder parent) {
-            this.parent = parent;
-
+        private SingleValueExpressionBuilder(final P path, final OperatorValueNode node,
+                                             final SingleValueExpressionBuilder parent, final boolean ignoreCase) {
             this.path = path;
+            this.parent = parent;
+            this.ignoreCase = ignoreCase;
 
-            final var operatorAndValue = new OperatorAndValue(value, supportedSingleValuedComparisonOperators,
-                    Operator.EQUAL);
-            this.operator = operatorAndValue.getOperator();
-            this.value = operatorAndValue.getValue();
+            // Operators unsupported by this provider are treated as part of an implicitly equal literal
+            final var explicit = supportedSingleValuedComparisonOperators.contains(node.getOperator());
+            this.operator = explicit
+                    ? node.getOperator()
+                    : Operator.EQUAL;
+            this.value = explicit
+                    ? node.getOperand()
+                    .getText()
+                    : StringUtils.trim(node.getText());
+
+            this.next = explicit
+                    ? init(node.getOperand())
+                    : null;
+
+            if (!Operator.NOT.equals(this.operator) && !Operator.CASE_IGNORE.equals(this.operator)) {
+                validate(path, this.operator, this.value);
+            }
 
-            init(path, operatorAndValue);
+            if (this.parent != null) {
+                Validate.isTrue(
+                        !(Operator.AND.equals(this.operator) || Operator.OR.equals(this.operator)
+                                || (Operator.NOT.equals(this.operator) && !Operator.NOT.equals(this.parent.operator))),
+                        "Boolean operators cannot be composed within other operators"); // last
+            }
         }
 
         /**
@@ -335,36 +717,63 @@ abstract class BaseExpressionProvider<P extends Path> implements ExpressionProvi
         }
 
         /**
-         * @param ignoreCase set <code>true</code> if case sensitivity should be ignored.
+         * @return {@link Equality} this chain of operators reduces to, <code>null</code> if it doesn't reduce to a
+         * (negated) equality
          */
-        public void setIgnoreCase(boolean ignoreCase) {
-            this.ignoreCase = ignoreCase;
+        public Equality getEquality() {
+            var negated = false;
+            for (var builder = this; builder != null; builder = builder.next) {
+                switch (builder.operator) {
+                    case NOT -> negated = !negated;
+                    case CASE_IGNORE -> {
+                    }
+                    case EQUAL -> {
+                        return new Equality(negated, builder.isIgnoreCase(), builder.value);
+                    }
+                    case NOT_EQUAL -> {
+                        return new Equality(!negated, builder.isIgnoreCase(), builder.value);
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+            return null;
         }
 
-        private void init(P path, OperatorAndValue operatorAndValue) {
-            Validate.notNull(this.operator, "Operator must not be null");
+        /**
+         * @param equality if an equality is accepted as a single value range
+         * @return {@link ValueRange} this comparison matches, <code>null</code> if it isn't a comparison of an ordered
+         * path
+         */
+        public ValueRange getRange(boolean equality) {
+            return switch (this.operator) {
+                case EQUAL, GREATER_THAN, GREATER_THAN_OR_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL -> {
+                    if (Operator.EQUAL.equals(this.operator) && !equality) {
+                        yield null;
+                    }
+                    final var comparable = toComparable(path, this.value);
+                    yield comparable != null
+                            ? ValueRange.of(this.operator, comparable, this.value)
+                            : null;
+                }
+                default -> null;
+            };
+        }
 
+        private SingleValueExpressionBuilder init(OperatorValueNode operand) {
             if (Operator.NOT.equals(this.operator)) {
                 Validate.isTrue(StringUtils.isNotBlank(this.value),
                         "Sub-operation must be available with NOT operator");
-                this.next = new SingleValueExpressionBuilder(path, operatorAndValue.getValue(), this);
+                return new SingleValueExpressionBuilder(path, operand, this, false);
             } else if (Operator.CASE_IGNORE.equals(this.operator)) {
                 Validate.isTrue(StringUtils.isNotBlank(this.value),
                         "Sub-operation must be available with CASE_IGNORE operator");
-                this.next = new SingleValueExpressionBuilder(path, operatorAndValue.getValue(), this);
-                this.next.setIgnoreCase(true);
-            } else if (ExpressionProvider.isOperator(supportedSingleValuedComparisonOperators.toArray(
-                            new Operator[0]), this.value)
-                    .isPresent()) {
-                this.next = new SingleValueExpressionBuilder(path, operatorAndValue.getValue(), this);
-            }
-
-            if (this.parent != null) {
-                Validate.isTrue(
-                        !(Operator.AND.equals(this.operator) || Operator.OR.equals(this.operator)
-                                || (Operator.NOT.equals(this.operator) && !Operator.NOT.equals(this.parent.operator))),
-                        "Boolean operators cannot be composed within other operators"); // last
+                return new SingleValueExpressionBuilder(path, operand, this, true);
+            } else if (supportedSingleValuedComparisonOperators.contains(operand.getOperator())) {
+                return new SingleValueExpressionBuilder(path, operand, this, false);
             }
+            return null;
         }
 
         public BooleanExpression getExpression() {
@@ -380,7 +789,7 @@ abstract class BaseExpressionProvider<P extends Path> implements ExpressionProvi
                     final var preResult = this.next.getExpression();
 
                     yield preResult != null
-                            ? preResult.not()
+                            ? not(preResult)
                             : null;
                 }
                 case LESS_THAN -> lt(path, this.value);
@@ -0,0 +1,238 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.querydsl.collections.CollQuery;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import org.apache.commons.lang3.Validate;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Executes searches with oversized IN lists, for e.g. bulk lookups by thousands of identifiers, as multiple queries
+ * with IN lists of a bounded size, since stores limit the number of elements of an IN list (for e.g. 1000 on Oracle)
+ * or of bind parameters and plan very large IN lists poorly, for e.g.:
+ * <pre>
+ * BulkLookup lookup = BulkLookup.builder()
+ *     .path(QUser.user.employeeId, 1000)
+ *     .build();
+ *
+ * List&lt;User&gt; users = lookup.findAll(userRepository, predicate, QUser.user.userName.asc());
+ * </pre>
+ * <p>
+ * Only paths opted in through the builder are chunked. The first IN on such a path with more values than its chunk size,
+ * which is composed with the rest of the predicate only by AND and OR (i.e. not negated), is split into chunks and
+ * every chunk is searched combined with the rest of the predicate. Such a predicate matches an entity if and only if one
+ * of the chunked predicates does, hence merged results are complete; duplicates are removed by the field of entities
+ * annotated with <code>org.springframework.data.annotation.Id</code> or <code>jakarta.persistence.Id</code>, or else by
+ * {@link Object#equals(Object)}. Results are merged in the order of chunks, or sorted in memory by supplied order
+ * specifiers.
+ * </p>
+ * <p>
+ * Chunks are searched sequentially on the calling thread, unless an {@link Executor} is supplied, in which case they're
+ * searched in parallel outside of any transaction or persistence context bound to the calling thread.
+ * </p>
+ */
+public final class BulkLookup {
+
+    private final Map<Path<?>, Integer> chunkSizes;
+    private final Executor executor;
+
+    private BulkLookup(Builder builder) {
+        this.chunkSizes = Map.copyOf(builder.chunkSizes);
+        this.executor = builder.executor;
+    }
+
+    /**
+     * @return a new {@link Builder} of a sequential bulk lookup
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param repository repository to search
+     * @param predicate  searched predicate
+     * @param orders     order of results, if any
+     * @return all entities matching supplied predicate, without duplicates
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> findAll(QuerydslPredicateExecutor<T> repository, Predicate predicate,
+                               OrderSpecifier<?>... orders) {
+        Validate.notNull(repository, "Repository must not be null");
+        Validate.notNull(predicate, "Predicate must not be null");
+        Validate.noNullElements(orders, "Orders must not be null");
+
+        final var chunks = split(predicate);
+        if (chunks.size() == 1) {
+            return Lists.newArrayList(search(repository, predicate, orders));
+        }
+
+        final var results = new ArrayList<Iterable<T>>(chunks.size());
+        if (executor == null) {
+            chunks.forEach(chunk -> results.add(search(repository, chunk, orders)));
+        } else {
+            final var futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> search(repository, chunk, orders), executor))
+                .toList();
+            try {
+                futures.forEach(future -> results.add(future.join()));
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        final var merged = new LinkedHashMap<Object, T>();
+        for (T entity : Iterables.concat(results)) {
+            merged.putIfAbsent(EntityIdentity.keyOf(entity), entity);
+        }
+        if (orders.length == 0 || merged.size() < 2) {
+            return new ArrayList<>(merged.values());
+        }
+
+        final var root = (Path<T>) ((Path<?>) ((Operation<?>) findChunkedIn(predicate)).getArg(0)).getRoot();
+        return new CollQuery<Void>().select(root)
+            .from(root, merged.values())
+            .orderBy(orders)
+            .fetch();
+    }
+
+    /**
+     * @param predicate searched predicate
+     * @return predicates searching the chunks of the first oversized IN list of supplied predicate, or just supplied
+     * predicate if it has no oversized IN list
+     */
+    List<Predicate> split(Predicate predicate) {
+        final var in = findChunkedIn(predicate);
+        if (in == null) {
+            return List.of(predicate);
+        }
+
+        final var operation = (Operation<?>) in;
+        final var path = operation.getArg(0);
+        final var values = List.copyOf((Collection<?>) ((Constant<?>) operation.getArg(1)).getConstant());
+        final var chunks = new ArrayList<Predicate>();
+        for (List<?> chunk : Lists.partition(values, chunkSizes.get((Path<?>) path))) {
+            chunks.add(replace(predicate, in, ExpressionUtils.predicate(Ops.IN, path, ConstantImpl.create(chunk))));
+        }
+        return chunks;
+    }
+
+    private Predicate findChunkedIn(Predicate predicate) {
+        if (predicate instanceof BooleanBuilder builder) {
+            return findChunkedIn(builder.getValue());
+        }
+        if (!(predicate instanceof Operation<?> operation)) {
+            return null;
+        }
+
+        if (Ops.AND.equals(operation.getOperator()) || Ops.OR.equals(operation.getOperator())) {
+            for (Expression<?> arg : operation.getArgs()) {
+                final var in = arg instanceof Predicate p
+                    ? findChunkedIn(p)
+                    : null;
+                if (in != null) {
+                    return in;
+                }
+            }
+        } else if (Ops.IN.equals(operation.getOperator())
+            && operation.getArg(0) instanceof Path<?> path
+            && chunkSizes.containsKey(path)
+            && operation.getArg(1) instanceof Constant<?> constant
+            && constant.getConstant() instanceof Collection<?> values
+            && values.size() > chunkSizes.get(path)) {
+            return predicate;
+        }
+        return null;
+    }
+
+    private static Predicate replace(Predicate predicate, Predicate target, Predicate replacement) {
+        if (predicate == target) {
+            return replacement;
+        }
+        if (predicate instanceof BooleanBuilder builder) {
+            return replace(builder.getValue(), target, replacement);
+        }
+        if (predicate instanceof Operation<?> operation
+            && (Ops.AND.equals(operation.getOperator()) || Ops.OR.equals(operation.getOperator()))) {
+            final var args = new ArrayList<Expression<?>>(operation.getArgs().size());
+            for (Expression<?> arg : operation.getArgs()) {
+                args.add(arg instanceof Predicate p
+                    ? replace(p, target, replacement)
+                    : arg);
+            }
+            return ExpressionUtils.predicate(operation.getOperator(), args.toArray(new Expression<?>[0]));
+        }
+        return predicate;
+    }
+
+    private static <T> Iterable<T> search(QuerydslPredicateExecutor<T> repository, Predicate predicate,
+                                          OrderSpecifier<?>[] orders) {
+        return orders.length == 0
+            ? repository.findAll(predicate)
+            : repository.findAll(predicate, orders);
+    }
+
+    /**
+     * Builder of {@link BulkLookup}.
+     */
+    public static final class Builder {
+
+        private final Map<Path<?>, Integer> chunkSizes = new HashMap<>();
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * Opts a path in to chunking.
+         *
+         * @param path      {@link Path} searched with IN lists
+         * @param chunkSize maximum number of values of an IN list on supplied path
+         * @return this builder
+         */
+        public Builder path(Path<?> path, int chunkSize) {
+            Validate.notNull(path, "Path must not be null");
+            Validate.isTrue(chunkSize > 0, "Chunk size must be > 0");
+            this.chunkSizes.put(path, chunkSize);
+            return this;
+        }
+
+        /**
+         * @param executor {@link Executor} searching chunks in parallel, <code>null</code> to search them sequentially
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @return {@link BulkLookup}
+         */
+        public BulkLookup build() {
+            return new BulkLookup(this);
+        }
+    }
+}
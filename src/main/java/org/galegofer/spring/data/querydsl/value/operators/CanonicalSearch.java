@@ -0,0 +1,183 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable canonical form of a search, i.e. of the values (including value operators) of every searched parameter,
+ * along with a stable fingerprint, so that differently spelled but equivalent searches can share cache entries.
+ * <p>
+ * Canonicalization doesn't depend on the type of searched paths, it:
+ * </p>
+ * <ul>
+ * <li>orders parameters by name</li>
+ * <li>unifies operator aliases (for e.g. <code>starts-with</code> and <code>startsWith</code>)</li>
+ * <li>makes implicit operators explicit, i.e. <code>eq</code> for values without an operator and the logical operator
+ * of every value but the first</li>
+ * <li>trims values and the literals of implicit equalities, as expression providers do, while operands of explicit
+ * operators (for e.g. <code>eq( a )</code>) are kept verbatim</li>
+ * <li>sorts and removes duplicates among values composed with the same logical operator, which is commutative and
+ * idempotent; since multiple values are composed left to right, only values between two changes of the logical
+ * operator are reordered</li>
+ * </ul>
+ * <p>
+ * Canonical values are valid search values themselves and are searched exactly as the values they were derived from,
+ * for e.g. <code>[b, a, or( a ), and(starts-with(c))]</code> is canonicalized into
+ * <code>[eq(a), or(eq(b)), and(startsWith(c))]</code>. The fingerprint is a 128-bit murmur3 hash of the canonical
+ * form, which is identical across JVMs and releases.
+ * </p>
+ */
+public final class CanonicalSearch {
+
+    private static final HashFunction FINGERPRINT = Hashing.murmur3_128();
+
+    private final Map<String, List<String>> parameters;
+    private final HashCode fingerprint;
+
+    private CanonicalSearch(Map<String, List<String>> parameters) {
+        this.parameters = Collections.unmodifiableMap(parameters);
+
+        final var hasher = FINGERPRINT.newHasher();
+        hasher.putInt(parameters.size());
+        parameters.forEach((name, values) -> {
+            putString(hasher, name);
+            hasher.putInt(values.size());
+            values.forEach(value -> putString(hasher, value));
+        });
+        this.fingerprint = hasher.hash();
+    }
+
+    /**
+     * @param parameters values (including value operators) by searched parameter name, for e.g. the
+     *                   <code>toString()</code> of a {@link com.querydsl.core.types.Path}
+     * @return canonical form of supplied search
+     * @throws IllegalArgumentException if a value is malformed
+     */
+    public static CanonicalSearch of(Map<String, ? extends Collection<String>> parameters) {
+        Validate.notNull(parameters, "Parameters must not be null");
+        final var canonical = new TreeMap<String, List<String>>();
+        parameters.forEach((name, values) -> canonical.put(name, canonicalize(values)));
+        return new CanonicalSearch(canonical);
+    }
+
+    /**
+     * @param values values (including value operators) of a searched parameter
+     * @return canonical values, searched exactly as supplied values
+     * @throws IllegalArgumentException if a value is malformed
+     */
+    public static List<String> canonicalize(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return List.of();
+        }
+
+        final var result = new ArrayList<String>(values.size());
+        final var group = new TreeSet<String>();
+        Operator defaultOperator = null;
+        Operator groupOperator = null;
+        for (String value : values) {
+            final var node = OperatorValueParser.parse(StringUtils.trim(value));
+            node.validateComposition();
+
+            final var explicit = Operator.AND.equals(node.getOperator()) || Operator.OR.equals(node.getOperator());
+            final var operator = explicit
+                ? node.getOperator()
+                : defaultOperator != null
+                ? defaultOperator
+                : Operator.OR;
+            if (defaultOperator == null) {
+                defaultOperator = operator;
+            }
+
+            // the first value opens a group with whichever operator the second value is composed with
+            if (groupOperator != null && !groupOperator.equals(operator) && !group.isEmpty()) {
+                flush(result, group, groupOperator);
+            }
+            if (!group.isEmpty() || !result.isEmpty()) {
+                groupOperator = operator;
+            }
+            group.add(render(explicit ? node.getOperand() : node));
+        }
+        flush(result, group, groupOperator);
+        return List.copyOf(result);
+    }
+
+    /**
+     * @return canonical values by parameter name, ordered by parameter name
+     */
+    public Map<String, List<String>> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return 128-bit fingerprint of this canonical search
+     */
+    public HashCode getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof CanonicalSearch other && parameters.equals(other.parameters));
+    }
+
+    @Override
+    public int hashCode() {
+        return fingerprint.asInt();
+    }
+
+    @Override
+    public String toString() {
+        return parameters.toString();
+    }
+
+    private static void flush(List<String> result, Collection<String> group, Operator operator) {
+        for (String value : group) {
+            result.add(result.isEmpty()
+                ? value
+                : operator + "(" + value + ")");
+        }
+        group.clear();
+    }
+
+    private static String render(OperatorValueNode node) {
+        final var prefix = new StringBuilder();
+        var depth = 0;
+        var current = node;
+        if (!current.isOperator()) {
+            prefix.append(Operator.EQUAL).append('(');
+            depth++;
+        }
+        Operator innermost = null;
+        for (; current.isOperator(); current = current.getOperand()) {
+            innermost = current.getOperator();
+            prefix.append(innermost.withAliases()[0]).append('(');
+            depth++;
+        }
+        // providers trim literals of implicit equalities only, i.e. not operands of explicit comparisons
+        final var implicit = innermost == null || Operator.NOT.equals(innermost)
+            || Operator.CASE_IGNORE.equals(innermost);
+        prefix.append(implicit
+            ? StringUtils.trim(current.getText())
+            : current.getText());
+        return prefix.append(")".repeat(depth)).toString();
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        hasher.putInt(bytes.length);
+        hasher.putBytes(bytes);
+    }
+}
@@ -2,9 +2,9 @@ package org.galegofer.spring.data.querydsl.value.operators;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.DateTimePath;
-import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.StringUtils;
 
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.List;
 
 class DateTimePathExpressionProviderImpl extends BaseExpressionProvider<DateTimePath> {
@@ -21,14 +21,22 @@ class DateTimePathExpressionProviderImpl extends BaseExpressionProvider<DateTime
 
     @Override
     protected BooleanExpression eq(DateTimePath path, String value, boolean ignoreCase) {
-        Validate.isTrue(isDate(value), "Invalid date value");
-        return path.eq(convertToDate(value));
+        return path.eq(toDateTime(path, value));
     }
 
     @Override
     protected BooleanExpression ne(DateTimePath path, String value, boolean ignoreCase) {
-        Validate.isTrue(isDate(value), "Invalid date value");
-        return path.ne(convertToDate(value));
+        return path.ne(toDateTime(path, value));
+    }
+
+    @Override
+    protected BooleanExpression in(DateTimePath path, List<String> values, boolean ignoreCase) {
+        return path.in(toDateTimes(path, values));
+    }
+
+    @Override
+    protected BooleanExpression notIn(DateTimePath path, List<String> values, boolean ignoreCase) {
+        return path.notIn(toDateTimes(path, values));
     }
 
     @Override
@@ -53,40 +61,49 @@ class DateTimePathExpressionProviderImpl extends BaseExpressionProvider<DateTime
 
     @Override
     protected BooleanExpression gt(DateTimePath path, String value) {
-        Validate.isTrue(isDate(value), "Invalid date value");
-        return path.gt(convertToDate(value));
+        return path.gt(toDateTime(path, value));
     }
 
     @Override
     protected BooleanExpression gte(DateTimePath path, String value) {
-        Validate.isTrue(isDate(value), "Invalid date value");
-        return path.goe(convertToDate(value));
+        return path.goe(toDateTime(path, value));
     }
 
     @Override
     protected BooleanExpression lt(DateTimePath path, String value) {
-        Validate.isTrue(isDate(value), "Invalid date value");
-        return path.lt(convertToDate(value));
+        return path.lt(toDateTime(path, value));
     }
 
     @Override
     protected BooleanExpression lte(DateTimePath path, String value) {
-        Validate.isTrue(isDate(value), "Invalid date value");
-        return path.loe(convertToDate(value));
+        return path.loe(toDateTime(path, value));
+    }
+
+    @Override
+    protected BooleanExpression between(DateTimePath path, String from, String to) {
+        return path.between(toDateTime(path, from), toDateTime(path, to));
     }
 
-    private boolean isDate(String dateString) {
-        try {
-            new Date(dateString);
+    @Override
+    protected Comparable<?> toComparable(DateTimePath path, String value) {
+        return toDateTime(path, value);
+    }
+
+    @Override
+    protected BooleanExpression matchNone(DateTimePath path) {
+        // an empty IN is serialized as a constant false condition by all Querydsl modules
+        return path.in(List.of());
+    }
 
-            return true;
-        } catch (IllegalArgumentException iae) {
-            return false;
+    private List<Comparable> toDateTimes(DateTimePath path, List<String> values) {
+        final var dateTimes = new ArrayList<Comparable>(values.size());
+        for (String value : values) {
+            dateTimes.add(toDateTime(path, value));
         }
+        return dateTimes;
     }
 
-    private Date convertToDate(String dateString) {
-        // use the same conversion as used by the Conversion service
-        return new Date(dateString);
+    private Comparable toDateTime(DateTimePath path, String value) {
+        return DateTimeValueParser.parse(StringUtils.trim(value), path.getType());
     }
 }
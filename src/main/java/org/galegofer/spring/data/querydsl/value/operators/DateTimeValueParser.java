@@ -0,0 +1,198 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import org.apache.commons.lang3.Validate;
+
+import java.sql.Timestamp;
+import java.text.ParsePosition;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Parses date(time) search values exactly once into the target type of a
+ * {@link com.querydsl.core.types.dsl.DateTimePath}.
+ * <p>
+ * Values are tried, in order, as epoch milliseconds, ISO-8601 dates, date-times and instants (for e.g.
+ * <code>2019-02-28</code>, <code>2019-02-28T15:00:33</code>, <code>2019-02-28T15:00:33Z</code> or
+ * <code>2019-02-28T15:00:33+01:00</code>), formatters registered through
+ * {@link ExpressionProviderFactory#registerDateTimeFormatter(DateTimeFormatter)}, the documented
+ * <code>MM/DD/YYYY HH:mm:ss zzz</code> notation and finally the lenient legacy notations accepted by
+ * {@link Date#parse(String)}. Values without an offset or zone are interpreted in the system default time zone.
+ * </p>
+ */
+final class DateTimeValueParser {
+
+    private static final DateTimeFormatter ISO_DATE_TIME = new DateTimeFormatterBuilder()
+        .parseCaseInsensitive()
+        .append(DateTimeFormatter.ISO_LOCAL_DATE)
+        .optionalStart()
+        .appendLiteral('T')
+        .append(DateTimeFormatter.ISO_LOCAL_TIME)
+        .optionalStart()
+        .appendOffsetId()
+        .optionalEnd()
+        .optionalEnd()
+        .toFormatter()
+        .withResolverStyle(ResolverStyle.STRICT);
+
+    private static final DateTimeFormatter US_DATE_TIME = new DateTimeFormatterBuilder()
+        .appendValue(ChronoField.MONTH_OF_YEAR)
+        .appendLiteral('/')
+        .appendValue(ChronoField.DAY_OF_MONTH)
+        .appendLiteral('/')
+        .optionalStart()
+        .appendValue(ChronoField.YEAR, 4)
+        .optionalEnd()
+        .optionalStart()
+        // same century window as Date#parse(String) for two digit years
+        .appendValueReduced(ChronoField.YEAR, 2, 2, LocalDate.now().minusYears(80))
+        .optionalEnd()
+        .optionalStart()
+        .appendLiteral(' ')
+        .appendValue(ChronoField.HOUR_OF_DAY)
+        .appendLiteral(':')
+        .appendValue(ChronoField.MINUTE_OF_HOUR, 2)
+        .optionalStart()
+        .appendLiteral(':')
+        .appendValue(ChronoField.SECOND_OF_MINUTE, 2)
+        .optionalEnd()
+        .optionalEnd()
+        .optionalStart()
+        .appendLiteral(' ')
+        .appendOffset("+HH:MM", "UTC")
+        .optionalEnd()
+        .toFormatter()
+        .withResolverStyle(ResolverStyle.STRICT);
+
+    private static final Map<Class<?>, Function<Instant, Comparable<?>>> CONVERTERS = Map.of(
+        Date.class, Date::from,
+        Timestamp.class, Timestamp::from,
+        Instant.class, instant -> instant,
+        LocalDateTime.class, instant -> LocalDateTime.ofInstant(instant, ZoneId.systemDefault()),
+        OffsetDateTime.class, instant -> OffsetDateTime.ofInstant(instant, ZoneId.systemDefault()),
+        ZonedDateTime.class, instant -> ZonedDateTime.ofInstant(instant, ZoneId.systemDefault()),
+        Calendar.class, instant -> {
+            final var calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(instant.toEpochMilli());
+            return calendar;
+        });
+
+    private static volatile List<DateTimeFormatter> formatters = List.of();
+
+    private DateTimeValueParser() {
+    }
+
+    /**
+     * Parses supplied value into given target type, types not supported are parsed into {@link Date}.
+     *
+     * @param value trimmed value to parse
+     * @param type  target type of path
+     * @return parsed value
+     * @throws IllegalArgumentException if the value isn't a supported date(time)
+     */
+    static Comparable<?> parse(String value, Class<?> type) {
+        final var instant = parse(value);
+        Validate.isTrue(instant != null, "Invalid date value");
+        return CONVERTERS.getOrDefault(type, Date::from).apply(instant);
+    }
+
+    /**
+     * Registers an additional formatter, tried after the ISO-8601 formats.
+     *
+     * @param formatter formatter to register
+     */
+    static synchronized void register(DateTimeFormatter formatter) {
+        final var registered = new ArrayList<>(formatters);
+        registered.add(formatter);
+        formatters = Collections.unmodifiableList(registered);
+    }
+
+    private static Instant parse(String value) {
+        if (isEpochMillis(value)) {
+            try {
+                return Instant.ofEpochMilli(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        if (value.length() >= 10 && value.charAt(4) == '-') {
+            final var instant = parse(ISO_DATE_TIME, value);
+            if (instant != null) {
+                return instant;
+            }
+        }
+
+        for (DateTimeFormatter formatter : formatters) {
+            final var instant = parse(formatter, value);
+            if (instant != null) {
+                return instant;
+            }
+        }
+
+        final var slash = value.indexOf('/');
+        if (slash == 1 || slash == 2) {
+            final var instant = parse(US_DATE_TIME, value);
+            if (instant != null) {
+                return instant;
+            }
+        }
+
+        try {
+            return Instant.ofEpochMilli(Date.parse(value));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Instant parse(DateTimeFormatter formatter, String value) {
+        final var position = new ParsePosition(0);
+        final var parsed = (TemporalAccessor) formatter.toFormat().parseObject(value, position);
+        if (parsed == null || position.getIndex() != value.length()) {
+            return null;
+        }
+
+        if (parsed.isSupported(ChronoField.INSTANT_SECONDS)) {
+            return Instant.from(parsed);
+        }
+        final var date = parsed.query(TemporalQueries.localDate());
+        if (date == null) {
+            return null;
+        }
+        final var time = parsed.query(TemporalQueries.localTime());
+        final var zone = parsed.query(TemporalQueries.zone());
+        final var dateTime = time == null ? date.atStartOfDay() : date.atTime(time);
+        return dateTime.atZone(zone == null ? ZoneId.systemDefault() : zone).toInstant();
+    }
+
+    private static boolean isEpochMillis(String value) {
+        final var length = value.length();
+        var i = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        if (i == length) {
+            return false;
+        }
+        for (; i < length; i++) {
+            final var c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
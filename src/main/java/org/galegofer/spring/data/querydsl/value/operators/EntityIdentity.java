@@ -0,0 +1,65 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Identifies entities by the field annotated with <code>org.springframework.data.annotation.Id</code> or
+ * <code>jakarta.persistence.Id</code>, or else by {@link Object#equals(Object)}, so that the same entity loaded twice
+ * is recognized.
+ */
+final class EntityIdentity {
+
+    private static final ClassValue<Optional<Field>> ID_FIELDS = new ClassValue<>() {
+        @Override
+        protected Optional<Field> computeValue(Class<?> type) {
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Arrays.stream(field.getAnnotations())
+                        .map(annotation -> annotation.annotationType().getName())
+                        .anyMatch(name -> name.equals("org.springframework.data.annotation.Id")
+                            || name.equals("jakarta.persistence.Id"))) {
+                        ReflectionUtils.makeAccessible(field);
+                        return Optional.of(field);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+    };
+
+    private EntityIdentity() {
+    }
+
+    /**
+     * @return <code>true</code> if both entities are the same entity
+     */
+    static boolean isSame(Object cached, Object entity) {
+        if (cached == entity) {
+            return true;
+        } else if (cached == null || entity == null || cached.getClass() != entity.getClass()) {
+            return false;
+        }
+        return ID_FIELDS.get(entity.getClass())
+            .map(field -> Objects.equals(ReflectionUtils.getField(field, cached),
+                ReflectionUtils.getField(field, entity)))
+            .orElseGet(() -> cached.equals(entity));
+    }
+
+    /**
+     * @return key equal for the same entities, for e.g. to remove duplicates with a {@link java.util.Set}
+     */
+    static Object keyOf(Object entity) {
+        final var id = ID_FIELDS.get(entity.getClass())
+            .map(field -> ReflectionUtils.getField(field, entity))
+            .orElse(null);
+        return id != null
+            ? List.of(entity.getClass(), id)
+            : entity;
+    }
+}
@@ -5,8 +5,6 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.EnumPath;
-import org.apache.commons.lang3.EnumUtils;
-import org.apache.commons.lang3.StringUtils;
 
 import java.text.MessageFormat;
 import java.util.List;
@@ -27,6 +25,10 @@ class EnumPathExpressionProviderImpl extends BaseExpressionProvider<EnumPath> {
                 }
             });
 
+    private static final LoadingCache<MatchKey, List<Object>> MATCHED_CONSTANTS_CACHE = CacheBuilder.newBuilder()
+        .maximumSize(1000)
+        .build(CacheLoader.from(EnumPathExpressionProviderImpl::match));
+
     EnumPathExpressionProviderImpl() {
         super(ExpressionProviderFactory.isSupportsUnTypedValues()
             ? List.of(
@@ -65,63 +67,33 @@ class EnumPathExpressionProviderImpl extends BaseExpressionProvider<EnumPath> {
     }
 
     @Override
-    protected BooleanExpression contains(EnumPath path, String value, boolean ignoreCase) {
-        if (ExpressionProviderFactory.isSupportsUnTypedValues()) {
-            return path.in(EnumUtils.getEnumList(path.getType())
-                .stream()
-                .filter(v -> ignoreCase
-                    ? StringUtils.containsIgnoreCase(v.toString(), value)
-                    : StringUtils.contains(v.toString(), value))
-                .toList());
-        }
+    protected BooleanExpression in(EnumPath path, List<String> values, boolean ignoreCase) {
+        return path.in(values);
+    }
 
-        throw new UnsupportedOperationException(MessageFormat.format("Operator: {0} not supported with Enum values",
-            Operator.CONTAINS));
+    @Override
+    protected BooleanExpression notIn(EnumPath path, List<String> values, boolean ignoreCase) {
+        return path.notIn(values);
     }
 
     @Override
-    protected BooleanExpression startsWith(EnumPath path, String value, boolean ignoreCase) {
-        if (ExpressionProviderFactory.isSupportsUnTypedValues()) {
-            return path.in(EnumUtils.getEnumList(path.getType())
-                .stream()
-                .filter(v -> ignoreCase
-                    ? StringUtils.startsWithIgnoreCase(v.toString(), value)
-                    : StringUtils.startsWith(v.toString(), value))
-                .toList());
-        }
+    protected BooleanExpression contains(EnumPath path, String value, boolean ignoreCase) {
+        return matching(path, Operator.CONTAINS, value, ignoreCase);
+    }
 
-        throw new UnsupportedOperationException(MessageFormat.format("Operator: {0} not supported with Enum values",
-            Operator.STARTS_WITH));
+    @Override
+    protected BooleanExpression startsWith(EnumPath path, String value, boolean ignoreCase) {
+        return matching(path, Operator.STARTS_WITH, value, ignoreCase);
     }
 
     @Override
     protected BooleanExpression endsWith(EnumPath path, String value, boolean ignoreCase) {
-        if (ExpressionProviderFactory.isSupportsUnTypedValues()) {
-            return path.in(EnumUtils.getEnumList(path.getType())
-                .stream()
-                .filter(v -> ignoreCase
-                    ? StringUtils.endsWithIgnoreCase(v.toString(), value)
-                    : StringUtils.endsWith(v.toString(), value))
-                .toList());
-        }
-
-        throw new UnsupportedOperationException(MessageFormat.format("Operator: {0} not supported with Enum values",
-            Operator.ENDS_WITH));
+        return matching(path, Operator.ENDS_WITH, value, ignoreCase);
     }
 
     @Override
     protected BooleanExpression matches(EnumPath path, String value) {
-        if (ExpressionProviderFactory.isSupportsUnTypedValues()) {
-            return path.in(EnumUtils.getEnumList(path.getType())
-                .stream()
-                .filter(v -> REGEX_PATTERN_CACHE.getUnchecked(value)
-                    .matcher(v.toString())
-                    .matches())
-                .toList());
-        }
-
-        throw new UnsupportedOperationException(MessageFormat.format("Operator: {0} not supported with Enum values",
-            Operator.MATCHES));
+        return matching(path, Operator.MATCHES, value, false);
     }
 
     @Override
@@ -143,4 +115,44 @@ class EnumPathExpressionProviderImpl extends BaseExpressionProvider<EnumPath> {
     protected BooleanExpression lte(EnumPath path, String value) {
         throw new UnsupportedOperationException("Enum value can't be searched using lte operator");
     }
+
+    @Override
+    protected BooleanExpression matchNone(EnumPath path) {
+        // an empty IN is serialized as a constant false condition by all Querydsl modules
+        return path.in(List.of());
+    }
+
+    /**
+     * Creates an IN expression over the constants matched by the text operator, {@link #MATCH_ALL} when all
+     * constants are matched and {@link #MATCH_NONE} when none is.
+     */
+    private BooleanExpression matching(EnumPath path, Operator operator, String value, boolean ignoreCase) {
+        if (!ExpressionProviderFactory.isSupportsUnTypedValues()) {
+            throw new UnsupportedOperationException(MessageFormat.format(
+                "Operator: {0} not supported with Enum values", operator));
+        }
+
+        final var type = path.getType();
+        final var matched = MATCHED_CONSTANTS_CACHE.getUnchecked(new MatchKey(type, operator, value, ignoreCase));
+        if (matched.isEmpty()) {
+            return MATCH_NONE;
+        } else if (matched.size() == EnumValueIndex.of(type).size()) {
+            return MATCH_ALL;
+        }
+        return path.in(matched);
+    }
+
+    private static List<Object> match(MatchKey key) {
+        final var index = EnumValueIndex.of(key.type());
+        return switch (key.operator()) {
+            case CONTAINS -> index.contains(key.value(), key.ignoreCase());
+            case STARTS_WITH -> index.startsWith(key.value(), key.ignoreCase());
+            case ENDS_WITH -> index.endsWith(key.value(), key.ignoreCase());
+            case MATCHES -> index.matches(REGEX_PATTERN_CACHE.getUnchecked(key.value()));
+            default -> throw new IllegalStateException("Unexpected operator: " + key.operator());
+        };
+    }
+
+    private record MatchKey(Class<?> type, Operator operator, String value, boolean ignoreCase) {
+    }
 }
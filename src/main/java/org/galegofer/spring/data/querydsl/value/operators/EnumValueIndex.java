@@ -0,0 +1,177 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable index of the constants of an enum class, built once per class with {@link #of(Class)}, for matching
+ * constants by their textual ({@link Object#toString()}) value.
+ * <p>
+ * Besides the values and their lower-cased forms, the index keeps the values sorted (for prefix lookups) and the
+ * reversed values sorted (for suffix lookups), each along with lower-cased counterparts for case insensitive lookups.
+ * Matching constants are always returned in declaration order.
+ * </p>
+ */
+final class EnumValueIndex {
+
+    private static final ClassValue<EnumValueIndex> INDEXES = new ClassValue<>() {
+        @Override
+        protected EnumValueIndex computeValue(Class<?> type) {
+            return new EnumValueIndex(type.getEnumConstants());
+        }
+    };
+
+    private final Object[] constants;
+    private final String[] values;
+    private final String[] lowerCaseValues;
+    private final Sorted prefixes;
+    private final Sorted lowerCasePrefixes;
+    private final Sorted suffixes;
+    private final Sorted lowerCaseSuffixes;
+
+    private EnumValueIndex(Object[] constants) {
+        this.constants = constants;
+        this.values = new String[constants.length];
+        this.lowerCaseValues = new String[constants.length];
+        final var reversedValues = new String[constants.length];
+        final var reversedLowerCaseValues = new String[constants.length];
+        for (var i = 0; i < constants.length; i++) {
+            values[i] = constants[i].toString();
+            lowerCaseValues[i] = values[i].toLowerCase(Locale.ROOT);
+            reversedValues[i] = reverse(values[i]);
+            reversedLowerCaseValues[i] = reverse(lowerCaseValues[i]);
+        }
+        this.prefixes = new Sorted(values);
+        this.lowerCasePrefixes = new Sorted(lowerCaseValues);
+        this.suffixes = new Sorted(reversedValues);
+        this.lowerCaseSuffixes = new Sorted(reversedLowerCaseValues);
+    }
+
+    /**
+     * @param type enum class
+     * @return index of supplied enum class
+     */
+    static EnumValueIndex of(Class<?> type) {
+        return INDEXES.get(type);
+    }
+
+    /**
+     * @return number of constants of the indexed enum
+     */
+    int size() {
+        return constants.length;
+    }
+
+    /**
+     * @param value      value to look for
+     * @param ignoreCase if values must be compared ignoring case
+     * @return constants whose value contains supplied value
+     */
+    List<Object> contains(String value, boolean ignoreCase) {
+        final var candidates = ignoreCase ? lowerCaseValues : values;
+        final var searched = ignoreCase ? value.toLowerCase(Locale.ROOT) : value;
+        final var matched = new boolean[constants.length];
+        for (var i = 0; i < candidates.length; i++) {
+            matched[i] = candidates[i].contains(searched);
+        }
+        return collect(matched);
+    }
+
+    /**
+     * @param value      prefix to look for
+     * @param ignoreCase if values must be compared ignoring case
+     * @return constants whose value starts with supplied value
+     */
+    List<Object> startsWith(String value, boolean ignoreCase) {
+        return ignoreCase
+            ? collect(lowerCasePrefixes.startingWith(value.toLowerCase(Locale.ROOT)))
+            : collect(prefixes.startingWith(value));
+    }
+
+    /**
+     * @param value      suffix to look for
+     * @param ignoreCase if values must be compared ignoring case
+     * @return constants whose value ends with supplied value
+     */
+    List<Object> endsWith(String value, boolean ignoreCase) {
+        return ignoreCase
+            ? collect(lowerCaseSuffixes.startingWith(reverse(value.toLowerCase(Locale.ROOT))))
+            : collect(suffixes.startingWith(reverse(value)));
+    }
+
+    /**
+     * @param pattern pattern to match
+     * @return constants whose value matches supplied pattern
+     */
+    List<Object> matches(Pattern pattern) {
+        final var matched = new boolean[constants.length];
+        for (var i = 0; i < values.length; i++) {
+            matched[i] = pattern.matcher(values[i]).matches();
+        }
+        return collect(matched);
+    }
+
+    private List<Object> collect(boolean[] matched) {
+        final var result = new ArrayList<>(constants.length);
+        for (var i = 0; i < matched.length; i++) {
+            if (matched[i]) {
+                result.add(constants[i]);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static String reverse(String value) {
+        return new StringBuilder(value).reverse().toString();
+    }
+
+    /**
+     * Values sorted lexicographically along with the ordinal each value belongs to.
+     */
+    private static final class Sorted {
+
+        private final String[] values;
+        private final int[] ordinals;
+
+        private Sorted(String[] unsorted) {
+            final var order = new Integer[unsorted.length];
+            for (var i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> unsorted[i]));
+
+            this.values = new String[unsorted.length];
+            this.ordinals = new int[unsorted.length];
+            for (var i = 0; i < order.length; i++) {
+                values[i] = unsorted[order[i]];
+                ordinals[i] = order[i];
+            }
+        }
+
+        private boolean[] startingWith(String prefix) {
+            final var matched = new boolean[values.length];
+            for (var i = lowerBound(prefix); i < values.length && values[i].startsWith(prefix); i++) {
+                matched[ordinals[i]] = true;
+            }
+            return matched;
+        }
+
+        private int lowerBound(String value) {
+            var low = 0;
+            var high = values.length;
+            while (low < high) {
+                final var middle = (low + high) >>> 1;
+                if (values[middle].compareTo(value) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -3,9 +3,9 @@ package org.galegofer.spring.data.querydsl.value.operators;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -118,9 +118,9 @@ public interface ExpressionProvider<P extends Path, V> {
     static <S extends String> Optional<Operator> isOperator(Operator[] operators, final S value) {
         return Optional.ofNullable(operators)
             .filter(array -> StringUtils.isNotBlank(value))
-            .flatMap(array -> Arrays.stream(array)
-                .filter(operator -> isOperator(operator, value))
-                .findFirst());
+            .map(array -> OperatorValueParser.parse(value)
+                .getOperator())
+            .filter(operator -> ArrayUtils.contains(operators, operator));
     }
 
     /**
@@ -131,8 +131,10 @@ public interface ExpressionProvider<P extends Path, V> {
      * @return <code>true</code> if provided value is wrapped in supplied <code>operator</code>, <code>false</code> otherwise
      */
     static boolean isOperator(Operator operator, final String value) {
-        return value.startsWith(operator.toString() + OPERATOR_VALUE_DELIMITER_PREFIX) && value.endsWith(
-            OPERATOR_VALUE_DELIMITER_SUFFIX);
+        final var name = operator.toString();
+        return value.startsWith(name)
+            && value.startsWith(OPERATOR_VALUE_DELIMITER_PREFIX, name.length())
+            && value.endsWith(OPERATOR_VALUE_DELIMITER_SUFFIX);
     }
 
     /**
@@ -142,26 +144,9 @@ public interface ExpressionProvider<P extends Path, V> {
      * @throws IllegalArgumentException if an invalid composition is found in provided <code>value</code>
      */
     static void validateComposition(final String value) {
-        // Check if value contains an operator
-        final var operator = isOperator(value);
-        // If value is not blank and contains an operator
-        if (StringUtils.isNotBlank(value) && operator.isPresent()) {
-            // Count the number of opening delimiters in value
-            int count = value.chars()
-                .filter(c -> c == OPERATOR_VALUE_DELIMITER_PREFIX.charAt(0))
-                .map(c -> 1)
-                .sum();
-            // Subtract the number of closing delimiters from the count
-            count -= value.chars()
-                .filter(c -> c == OPERATOR_VALUE_DELIMITER_SUFFIX.charAt(0))
-                .map(c -> 1)
-                .sum();
-            // If the count is non-zero, throw an exception
-            if (count != 0) {
-                final var message = count < 0 ? "Malformed (Incompletely closed) value: " :
-                    "Malformed (bad-ordering) value: ";
-                throw new IllegalArgumentException(message + value);
-            }
+        if (StringUtils.isNotBlank(value)) {
+            OperatorValueParser.parse(value)
+                .validateComposition();
         }
     }
 }
@@ -1,40 +1,67 @@
 package org.galegofer.spring.data.querydsl.value.operators;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.CacheStats;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.EnumPath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
 
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Main entry point for library consumers. Factory class provides access to
  * appropriate {@link ExpressionProvider} based on provided {@link Path} type.
+ * <p>
+ * Custom providers can be registered through {@link ExpressionProviderRegistration}.
+ * </p>
  */
 public final class ExpressionProviderFactory {
 
-    private static final LoadingCache<Path, ExpressionProvider> LOADING_CACHE = CacheBuilder.newBuilder()
-            .build(new CacheLoader<>() {
-                @Override
-                public ExpressionProvider load(Path key) {
-                    return switch (key.getClass().getSimpleName()) {
-                        case "StringPath" -> new StringPathExpressionProviderImpl();
-                        case "EnumPath" -> new EnumPathExpressionProviderImpl();
-                        case "NumberPath" -> new NumberPathExpressionProviderImpl();
-                        case "DateTimePath" -> new DateTimePathExpressionProviderImpl();
-                        default -> null;
-                    };
-                }
-            });
+    // loaded on first use rather than by the class initializer, and again on every use until loading succeeds, so that
+    // misconfigured registrations fail every search with the same IllegalStateException
+    private static final Supplier<Map<Class<?>, Supplier<ExpressionProvider>>> PROVIDER_SUPPLIERS = Suppliers.memoize(
+            () -> loadProviderSuppliers(ServiceLoader.load(ExpressionProviderRegistration.class,
+                    ExpressionProviderFactory.class.getClassLoader())));
+
+    private static volatile ClassValue<ExpressionProvider> providers = newProviderResolver();
 
     private static boolean supportsUnTypedValues = false;
 
-    private static final Map<Path, String> PATH_ALIAS_REGISTRY = new HashMap<>();
+    private static final PathAliasIndex PATH_ALIAS_INDEX = new PathAliasIndex();
+
+    private static volatile PredicateCache predicateCache;
+
+    private static final Map<Path<?>, StringValuePolicy> PATH_STRING_VALUE_POLICIES = new ConcurrentHashMap<>();
+
+    private static final Map<String, StringValuePolicy> ALIAS_STRING_VALUE_POLICIES = new ConcurrentHashMap<>();
+
+    private static volatile StringValuePolicy defaultStringValuePolicy = StringValuePolicy.DEFAULT;
+
+    private static volatile QueryCostModel queryCostModel;
+
+    private static volatile ParallelParsing parallelParsing;
+
+    private static final AtomicLong CONFIGURATION_VERSION = new AtomicLong();
 
     /**
      * Create a predicate based on implementation specific logic's processing of
@@ -45,10 +72,119 @@ public final class ExpressionProviderFactory {
      * @return {@link Optional} of {@link Predicate} based on provided value.
      */
     public static Optional<Predicate> getPredicate(Path path, Object value) {
-        return Optional.ofNullable(LOADING_CACHE.getUnchecked(path))
+        return Optional.ofNullable(path)
+                .map(p -> providers.get(p.getClass()))
                 .flatMap(p -> p.getPredicate(path, value));
     }
 
+    /**
+     * Checks if a predicate is provably never satisfied, for e.g. a predicate built from contradicting comparisons
+     * such as <code>gt(30)</code> and <code>and(lt(20))</code>, so that a repository can return an empty result
+     * without executing the query. Predicates matching nothing are built as an IN clause with no values and this
+     * method looks for those through AND / OR (and {@link BooleanBuilder}) compositions.
+     *
+     * @param predicate predicate to check, typically the one resolved by Querydsl web support
+     * @return <code>true</code> if supplied predicate is never satisfied, <code>false</code> if it may be
+     */
+    public static boolean isUnsatisfiable(Predicate predicate) {
+        if (predicate instanceof BooleanBuilder builder) {
+            return isUnsatisfiable(builder.getValue());
+        }
+        if (!(predicate instanceof Operation<?> operation)) {
+            return false;
+        }
+
+        final var operator = operation.getOperator();
+        if (operator == Ops.IN) {
+            return operation.getArg(1) instanceof Constant<?> constant
+                    && constant.getConstant() instanceof Collection<?> values
+                    && values.isEmpty();
+        } else if (operator == Ops.AND) {
+            return operation.getArgs()
+                    .stream()
+                    .anyMatch(arg -> arg instanceof Predicate p && isUnsatisfiable(p));
+        } else if (operator == Ops.OR) {
+            return operation.getArgs()
+                    .stream()
+                    .allMatch(arg -> arg instanceof Predicate p && isUnsatisfiable(p));
+        }
+        return false;
+    }
+
+    /**
+     * @param path {@link Path} to search
+     * @return provider of expressions for supplied path, <code>null</code> if none is registered for its type
+     */
+    static ExpressionProvider getProvider(Path<?> path) {
+        return providers.get(path.getClass());
+    }
+
+    /**
+     * Maps path types to the suppliers of their providers, registrations taking precedence over the providers offered
+     * by this library.
+     *
+     * @param registrations registrations of custom providers, typically discovered by {@link ServiceLoader}
+     * @return suppliers of providers by registered path type
+     * @throws IllegalStateException if more than one registration is supplied for the same path type, as the
+     *                               provider in use would otherwise depend on the order of the class-path
+     */
+    static Map<Class<?>, Supplier<ExpressionProvider>> loadProviderSuppliers(
+            Iterable<? extends ExpressionProviderRegistration> registrations) {
+        final Map<Class<?>, Supplier<ExpressionProvider>> suppliers = new HashMap<>();
+        suppliers.put(StringPath.class, StringPathExpressionProviderImpl::new);
+        suppliers.put(EnumPath.class, EnumPathExpressionProviderImpl::new);
+        suppliers.put(NumberPath.class, NumberPathExpressionProviderImpl::new);
+        suppliers.put(DateTimePath.class, DateTimePathExpressionProviderImpl::new);
+
+        final Map<Class<?>, ExpressionProviderRegistration> registered = new HashMap<>();
+        registrations.forEach(registration -> {
+            final Class<?> pathType = Validate.notNull(registration.getPathType(),
+                    "Path type of registration %s is null", registration.getClass().getName());
+            final var duplicate = registered.putIfAbsent(pathType, registration);
+            if (duplicate != null) {
+                throw new IllegalStateException(String.format(
+                        "Path type %s is registered by both %s and %s", pathType.getName(),
+                        duplicate.getClass().getName(), registration.getClass().getName()));
+            }
+            suppliers.put(pathType, registration::createExpressionProvider);
+        });
+
+        return Map.copyOf(suppliers);
+    }
+
+    /**
+     * Creates a resolver of {@link ExpressionProvider} by {@link Path} type. Provider is resolved from the closest
+     * registered super-class of the path type, or else from its closest registered interface, and a single provider
+     * instance is shared by all path types resolving to the same registered type.
+     */
+    private static ClassValue<ExpressionProvider> newProviderResolver() {
+        final Map<Class<?>, ExpressionProvider> instances = new ConcurrentHashMap<>();
+
+        return new ClassValue<>() {
+            @Override
+            protected ExpressionProvider computeValue(Class<?> type) {
+                return findRegisteredType(type)
+                        .map(registeredType -> instances.computeIfAbsent(registeredType,
+                                t -> PROVIDER_SUPPLIERS.get().get(t)
+                                        .get()))
+                        .orElse(null);
+            }
+        };
+    }
+
+    private static Optional<Class<?>> findRegisteredType(Class<?> type) {
+        final var suppliers = PROVIDER_SUPPLIERS.get();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            if (suppliers.containsKey(c)) {
+                return Optional.of(c);
+            }
+        }
+        return ClassUtils.getAllInterfaces(type)
+                .stream()
+                .filter(suppliers::containsKey)
+                .findFirst();
+    }
+
     /**
      * Method registers the new alias for given Path. It is assumed that
      * {@link QuerydslBindings.PathBinder} available from {@link QuerydslBindings} is also
@@ -59,7 +195,9 @@ public final class ExpressionProviderFactory {
      */
     public static void registerAlias(Path path, String alias) {
         if (path != null && StringUtils.isNotBlank(alias)) {
-            PATH_ALIAS_REGISTRY.put(path, alias);
+            PATH_ALIAS_INDEX.register(path, alias);
+            // built predicates may depend on the alias of their path
+            invalidatePredicateCache();
         }
     }
 
@@ -69,8 +207,177 @@ public final class ExpressionProviderFactory {
      * {@link Optional}
      */
     public static Optional<String> findAlias(Path path) {
-        return Optional.ofNullable(path)
-                .map(PATH_ALIAS_REGISTRY::get);
+        return PATH_ALIAS_INDEX.findAlias(path);
+    }
+
+    /**
+     * @param alias Alias for which path to be looked up from local registry.
+     * @return {@link Optional} of {@link Path} registered with the alias if available, otherwise empty
+     * {@link Optional}
+     */
+    public static Optional<Path<?>> findPath(String alias) {
+        return PATH_ALIAS_INDEX.findPath(alias);
+    }
+
+    /**
+     * @return index of aliases and request parameter names of search paths
+     */
+    public static PathAliasIndex getPathAliasIndex() {
+        return PATH_ALIAS_INDEX;
+    }
+
+    /**
+     * Registers the validation policy for values searched on supplied {@link StringPath}, overriding any policy
+     * registered for its alias and the default policy.
+     *
+     * @param path   {@link Path} the policy applies to
+     * @param policy {@link StringValuePolicy} to apply
+     */
+    public static void registerStringValuePolicy(Path path, StringValuePolicy policy) {
+        Validate.notNull(path, "Path must not be null");
+        Validate.notNull(policy, "StringValuePolicy must not be null");
+        PATH_STRING_VALUE_POLICIES.put(path, policy);
+        invalidatePredicateCache();
+    }
+
+    /**
+     * Registers the validation policy for values searched on the {@link StringPath} registered with supplied alias
+     * (see {@link #registerAlias(Path, String)}), overriding the default policy.
+     *
+     * @param alias  alias of the path the policy applies to
+     * @param policy {@link StringValuePolicy} to apply
+     */
+    public static void registerStringValuePolicy(String alias, StringValuePolicy policy) {
+        Validate.notBlank(alias, "Alias must not be blank");
+        Validate.notNull(policy, "StringValuePolicy must not be null");
+        ALIAS_STRING_VALUE_POLICIES.put(alias, policy);
+        invalidatePredicateCache();
+    }
+
+    /**
+     * Sets the validation policy for values searched on {@link StringPath}s without a registered policy, which is
+     * {@link StringValuePolicy#DEFAULT} unless set.
+     *
+     * @param policy {@link StringValuePolicy} to apply by default
+     */
+    public static void setDefaultStringValuePolicy(StringValuePolicy policy) {
+        Validate.notNull(policy, "StringValuePolicy must not be null");
+        defaultStringValuePolicy = policy;
+        invalidatePredicateCache();
+    }
+
+    static StringValuePolicy getStringValuePolicy(Path<?> path) {
+        var policy = PATH_STRING_VALUE_POLICIES.get(path);
+        if (policy == null && !ALIAS_STRING_VALUE_POLICIES.isEmpty()) {
+            policy = PATH_ALIAS_INDEX.findAlias(path)
+                    .map(ALIAS_STRING_VALUE_POLICIES::get)
+                    .orElse(null);
+        }
+        return policy != null
+                ? policy
+                : defaultStringValuePolicy;
+    }
+
+    /**
+     * Sets the cost model limiting how expensive the searches of a request can be, searches exceeding its budget are
+     * rejected with {@link QueryCostExceededException} before any expression is built. Searches are unlimited unless
+     * set.
+     *
+     * @param model {@link QueryCostModel} to apply, <code>null</code> for unlimited searches
+     */
+    public static void setQueryCostModel(QueryCostModel model) {
+        queryCostModel = model;
+    }
+
+    /**
+     * @return {@link Optional} of the cost model set by {@link #setQueryCostModel(QueryCostModel)}
+     */
+    public static Optional<QueryCostModel> getQueryCostModel() {
+        return Optional.ofNullable(queryCostModel);
+    }
+
+    /**
+     * Registers an additional format for date(time) values of {@link DateTimePath}s, for e.g.
+     * <code>DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm")</code>. Registered formatters are tried in order of
+     * registration after ISO-8601 formats and before the legacy formats. Parsed values without an offset or zone are
+     * interpreted in the system default time zone.
+     *
+     * @param formatter {@link DateTimeFormatter} to register
+     */
+    public static void registerDateTimeFormatter(DateTimeFormatter formatter) {
+        Validate.notNull(formatter, "DateTimeFormatter must not be null");
+        DateTimeValueParser.register(formatter);
+        invalidatePredicateCache();
+    }
+
+    /**
+     * Enables caching of predicates built by this library. Cached predicates are keyed by {@link Path} and the raw
+     * values (including value operators) they were built from, hence repeated searches skip parsing and building.
+     * <p>
+     * Cache is bounded by weight where each entry weighs the number of characters in its raw values, entries
+     * weighing more than <code>maximumEntryWeight</code> are never cached. Enabling the cache again replaces the
+     * existing cache.
+     * </p>
+     *
+     * @param maximumWeight      maximum total weight of cached predicates
+     * @param maximumEntryWeight maximum weight of a single cached predicate
+     */
+    public static void enablePredicateCache(long maximumWeight, long maximumEntryWeight) {
+        predicateCache = new PredicateCache(maximumWeight, maximumEntryWeight);
+    }
+
+    /**
+     * Disables and discards the predicate cache enabled by {@link #enablePredicateCache(long, long)}.
+     */
+    public static void disablePredicateCache() {
+        predicateCache = null;
+    }
+
+    /**
+     * @return {@link Optional} of hit, miss and eviction statistics of predicate cache if it's enabled, empty
+     * {@link Optional} otherwise
+     */
+    public static Optional<CacheStats> getPredicateCacheStats() {
+        return Optional.ofNullable(predicateCache)
+                .map(PredicateCache::stats);
+    }
+
+    static PredicateCache getPredicateCache() {
+        return predicateCache;
+    }
+
+    /**
+     * Enables parallel parsing and validation of searches with at least <code>threshold</code> values, on the common
+     * {@link ForkJoinPool}.
+     *
+     * @param threshold minimum number of values of a search parsed in parallel
+     * @see #enableParallelParsing(int, ForkJoinPool)
+     */
+    public static void enableParallelParsing(int threshold) {
+        enableParallelParsing(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Enables parallel parsing and validation of searches with at least <code>threshold</code> values, for e.g. bulk
+     * lookups by thousands of identifiers. Values are split into one chunk per worker of supplied pool, built
+     * predicates are identical to the ones built sequentially.
+     *
+     * @param threshold minimum number of values of a search parsed in parallel
+     * @param pool      {@link ForkJoinPool} parsing chunks of values
+     */
+    public static void enableParallelParsing(int threshold, ForkJoinPool pool) {
+        parallelParsing = new ParallelParsing(threshold, pool);
+    }
+
+    /**
+     * Disables parallel parsing enabled by {@link #enableParallelParsing(int, ForkJoinPool)}.
+     */
+    public static void disableParallelParsing() {
+        parallelParsing = null;
+    }
+
+    static ParallelParsing getParallelParsing() {
+        return parallelParsing;
     }
 
     /**
@@ -91,5 +398,24 @@ public final class ExpressionProviderFactory {
      */
     public static void setSupportsUnTypedValues(boolean supportsUnTypedValues) {
         ExpressionProviderFactory.supportsUnTypedValues = supportsUnTypedValues;
+        // providers may depend on this setting at construction time
+        providers = newProviderResolver();
+        invalidatePredicateCache();
+    }
+
+    /**
+     * @return version of the configuration predicates are built with, incremented on every change invalidating built
+     * predicates
+     */
+    static long getConfigurationVersion() {
+        return CONFIGURATION_VERSION.get();
+    }
+
+    private static void invalidatePredicateCache() {
+        CONFIGURATION_VERSION.incrementAndGet();
+        final var cache = predicateCache;
+        if (cache != null) {
+            cache.invalidateAll();
+        }
     }
 }
@@ -0,0 +1,33 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import com.querydsl.core.types.Path;
+
+/**
+ * Service provider interface for registering custom {@link ExpressionProvider}s with
+ * {@link ExpressionProviderFactory}.
+ * <p>
+ * Implementations are discovered through {@link java.util.ServiceLoader}, hence they must be public, have a public
+ * no-argument constructor and be listed in
+ * <code>META-INF/services/org.galegofer.spring.data.querydsl.value.operators.ExpressionProviderRegistration</code>.
+ * A registered provider applies to its {@link Path} type and all of its sub-types unless a more specific type is
+ * registered, and takes precedence over the provider offered by this library for the same type. Registering a type
+ * more than once fails every search with an {@link IllegalStateException} naming the clashing registrations.
+ * </p>
+ *
+ * @param <P> type of {@link Path} the provider is registered for
+ */
+public interface ExpressionProviderRegistration<P extends Path> {
+
+    /**
+     * @return type of {@link Path} the provider is registered for
+     */
+    Class<P> getPathType();
+
+    /**
+     * Creates the provider to be shared by all paths of the registered type. This method may be invoked again when
+     * factory wide settings change, for e.g. {@link ExpressionProviderFactory#setSupportsUnTypedValues(boolean)}.
+     *
+     * @return {@link ExpressionProvider} for registered {@link Path} type
+     */
+    ExpressionProvider<P, ?> createExpressionProvider();
+}
@@ -0,0 +1,141 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import com.querydsl.core.types.Predicate;
+import org.apache.commons.lang3.Validate;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.support.WindowIterator;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Executes searches over large result sets in windows of a bounded number of entities, using keyset (seek) pagination
+ * over a stable sort, i.e. every window continues right after the sort key of the last entity of the previous window
+ * instead of skipping an offset, for e.g.:
+ * <pre>
+ * KeysetSearch search = KeysetSearch.builder(Sort.by("userName", "_id"))
+ *     .fetchSize(500)
+ *     .build();
+ *
+ * try (Stream&lt;User&gt; users = search.stream(userRepository, predicate)) {
+ *     users.forEach(writer::write);
+ * }
+ * </pre>
+ * <p>
+ * The sort must be stable, i.e. its properties must identify entities, typically by ending with the identifier.
+ * Streams fetch the next window only once the previous one is consumed, hence at most one window is held in memory,
+ * unless entities are retained by a persistence context spanning the whole stream (for e.g. a JPA transaction or an
+ * open-in-view <code>EntityManager</code>), in which case {@link Builder#afterWindow(Runnable)} can detach them, for
+ * e.g. with <code>entityManager::clear</code>.
+ * Searches by a predicate matching nothing (see {@link ExpressionProviderFactory#isUnsatisfiable(Predicate)}) return
+ * no entity without querying the store.
+ * </p>
+ */
+public final class KeysetSearch {
+
+    private final Sort sort;
+    private final int fetchSize;
+    private final Runnable afterWindow;
+
+    private KeysetSearch(Builder builder) {
+        this.sort = builder.sort;
+        this.fetchSize = builder.fetchSize;
+        this.afterWindow = builder.afterWindow;
+    }
+
+    /**
+     * @param sort stable sort, for e.g. ending with the identifier of entities
+     * @return a new {@link Builder} of a search fetching 500 entities at a time
+     */
+    public static Builder builder(Sort sort) {
+        return new Builder(sort);
+    }
+
+    /**
+     * @param repository repository to search
+     * @param predicate  searched predicate
+     * @param position   position to continue from, {@link ScrollPosition#keyset()} for the first window
+     * @return window of at most fetch size entities following supplied position
+     */
+    public <T> Window<T> scroll(QuerydslPredicateExecutor<T> repository, Predicate predicate,
+                                ScrollPosition position) {
+        Validate.notNull(repository, "Repository must not be null");
+        Validate.notNull(predicate, "Predicate must not be null");
+        Validate.notNull(position, "Position must not be null");
+
+        if (ExpressionProviderFactory.isUnsatisfiable(predicate)) {
+            return Window.from(List.of(), index -> position);
+        }
+        return repository.findBy(predicate, query -> query.sortBy(sort)
+            .limit(fetchSize)
+            .scroll(position));
+    }
+
+    /**
+     * @param repository repository to search
+     * @param predicate  searched predicate
+     * @return lazily fetched {@link Stream} of all entities matching supplied predicate, in sort order
+     */
+    public <T> Stream<T> stream(QuerydslPredicateExecutor<T> repository, Predicate predicate) {
+        final var initial = ScrollPosition.keyset();
+        final var iterator = WindowIterator.<T>of(position -> {
+                // the previous window is consumed once the next one is fetched
+                if (afterWindow != null && position != initial) {
+                    afterWindow.run();
+                }
+                return scroll(repository, predicate, position);
+            })
+            .startingAt(initial);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+            Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Builder of {@link KeysetSearch}.
+     */
+    public static final class Builder {
+
+        private final Sort sort;
+        private int fetchSize = 500;
+        private Runnable afterWindow;
+
+        private Builder(Sort sort) {
+            Validate.isTrue(sort != null && sort.isSorted(), "Sort must not be empty");
+            this.sort = sort;
+        }
+
+        /**
+         * @param fetchSize maximum number of entities fetched at a time
+         * @return this builder
+         */
+        public Builder fetchSize(int fetchSize) {
+            Validate.isTrue(fetchSize > 0, "Fetch size must be > 0");
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
+        /**
+         * @param afterWindow action run by streams once a window is consumed, before the next one is fetched, for e.g.
+         *                    <code>entityManager::clear</code> to detach the entities of consumed windows
+         * @return this builder
+         */
+        public Builder afterWindow(Runnable afterWindow) {
+            Validate.notNull(afterWindow, "After window action must not be null");
+            this.afterWindow = afterWindow;
+            return this;
+        }
+
+        /**
+         * @return {@link KeysetSearch}
+         */
+        public KeysetSearch build() {
+            return new KeysetSearch(this);
+        }
+    }
+}
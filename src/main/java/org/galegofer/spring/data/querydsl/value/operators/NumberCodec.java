@@ -0,0 +1,184 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * Parsers of search values straight into the exact {@link Number} type of a
+ * {@link com.querydsl.core.types.dsl.NumberPath}, resolved once per type with {@link #forType(Class)}.
+ * <p>
+ * Values are accepted in plain decimal notation, i.e. an optional leading <code>-</code>, digits and an optional
+ * fraction. Integral types accept a fraction only if it is zero (for e.g. <code>1.0</code>), values that can't be
+ * represented exactly by the target type (overflow or non-zero fraction) are rejected.
+ * </p>
+ */
+enum NumberCodec {
+
+    BYTE {
+        @Override
+        Number decodeIntegral(String value) {
+            return Byte.parseByte(value);
+        }
+
+        @Override
+        Number decodeDecimal(String value) {
+            return new BigDecimal(value).byteValueExact();
+        }
+    },
+    SHORT {
+        @Override
+        Number decodeIntegral(String value) {
+            return Short.parseShort(value);
+        }
+
+        @Override
+        Number decodeDecimal(String value) {
+            return new BigDecimal(value).shortValueExact();
+        }
+    },
+    INTEGER {
+        @Override
+        Number decodeIntegral(String value) {
+            return Integer.parseInt(value);
+        }
+
+        @Override
+        Number decodeDecimal(String value) {
+            return new BigDecimal(value).intValueExact();
+        }
+    },
+    LONG {
+        @Override
+        Number decodeIntegral(String value) {
+            return Long.parseLong(value);
+        }
+
+        @Override
+        Number decodeDecimal(String value) {
+            return new BigDecimal(value).longValueExact();
+        }
+    },
+    BIG_INTEGER {
+        @Override
+        Number decodeIntegral(String value) {
+            return new BigInteger(value);
+        }
+
+        @Override
+        Number decodeDecimal(String value) {
+            return new BigDecimal(value).toBigIntegerExact();
+        }
+    },
+    FLOAT {
+        @Override
+        Number decodeIntegral(String value) {
+            return decodeDecimal(value);
+        }
+
+        @Override
+        Number decodeDecimal(String value) {
+            final var result = Float.parseFloat(value);
+            if (Float.isInfinite(result)) {
+                throw new ArithmeticException("Float overflow");
+            }
+            return result;
+        }
+    },
+    DOUBLE {
+        @Override
+        Number decodeIntegral(String value) {
+            return decodeDecimal(value);
+        }
+
+        @Override
+        Number decodeDecimal(String value) {
+            final var result = Double.parseDouble(value);
+            if (Double.isInfinite(result)) {
+                throw new ArithmeticException("Double overflow");
+            }
+            return result;
+        }
+    },
+    BIG_DECIMAL {
+        @Override
+        Number decodeIntegral(String value) {
+            return new BigDecimal(value);
+        }
+
+        @Override
+        Number decodeDecimal(String value) {
+            return new BigDecimal(value);
+        }
+    };
+
+    private static final Map<Class<?>, NumberCodec> CODECS = Map.of(
+        Byte.class, BYTE,
+        Short.class, SHORT,
+        Integer.class, INTEGER,
+        Long.class, LONG,
+        BigInteger.class, BIG_INTEGER,
+        Float.class, FLOAT,
+        Double.class, DOUBLE,
+        BigDecimal.class, BIG_DECIMAL);
+
+    private static final int INVALID = -1;
+    private static final int INTEGRAL = 0;
+    private static final int DECIMAL = 1;
+
+    /**
+     * @param type type of a {@link com.querydsl.core.types.dsl.NumberPath}
+     * @return codec for supplied type, <code>null</code> if the type isn't one of the standard {@link Number} types
+     */
+    static NumberCodec forType(Class<?> type) {
+        return CODECS.get(type);
+    }
+
+    /**
+     * Decodes supplied value into this codec's type.
+     *
+     * @param value trimmed value to decode
+     * @return decoded value
+     * @throws IllegalArgumentException if the value isn't a number or can't be represented exactly by this codec's
+     *                                  type
+     */
+    Number decode(String value) {
+        try {
+            return switch (scan(value)) {
+                case INTEGRAL -> decodeIntegral(value);
+                case DECIMAL -> decodeDecimal(value);
+                default -> throw new IllegalArgumentException("Invalid numeric value");
+            };
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid numeric value", e);
+        }
+    }
+
+    abstract Number decodeIntegral(String value);
+
+    abstract Number decodeDecimal(String value);
+
+    private static int scan(String value) {
+        final var length = value.length();
+        var i = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        var digits = 0;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i == length) {
+            return digits > 0 ? INTEGRAL : INVALID;
+        }
+        if (value.charAt(i++) != '.' || i == length) {
+            return INVALID;
+        }
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+        }
+        return i == length ? DECIMAL : INVALID;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
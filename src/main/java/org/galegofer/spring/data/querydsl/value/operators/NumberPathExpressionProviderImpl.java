@@ -8,6 +8,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.math.NumberUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -28,18 +29,22 @@ class NumberPathExpressionProviderImpl extends BaseExpressionProvider<NumberPath
 
     @Override
     protected BooleanExpression eq(NumberPath path, String value, boolean ignoreCase) {
-        Validate.isTrue(isNumeric(value), "Invalid numeric value");
-
-        return path.eq(new NumberConversions<>(Projections.tuple(path)).newInstance(
-            NumberUtils.createNumber(StringUtils.trim(value))).get(path));
+        return path.eq(toNumber(path, value));
     }
 
     @Override
     protected BooleanExpression ne(NumberPath path, String value, boolean ignoreCase) {
-        Validate.isTrue(isNumeric(value), "Invalid numeric value");
+        return path.ne(toNumber(path, value));
+    }
 
-        return path.ne(new NumberConversions<>(Projections.tuple(path)).newInstance(
-            NumberUtils.createNumber(StringUtils.trim(value))).get(path));
+    @Override
+    protected BooleanExpression in(NumberPath path, List<String> values, boolean ignoreCase) {
+        return path.in(toNumbers(path, values));
+    }
+
+    @Override
+    protected BooleanExpression notIn(NumberPath path, List<String> values, boolean ignoreCase) {
+        return path.notIn(toNumbers(path, values));
     }
 
     @Override
@@ -64,38 +69,67 @@ class NumberPathExpressionProviderImpl extends BaseExpressionProvider<NumberPath
 
     @Override
     protected BooleanExpression gt(NumberPath path, String value) {
-        Validate.isTrue(isNumeric(value), "Invalid numeric value");
-
-        return path.gt((Number) new NumberConversions<>(Projections.tuple(path)).newInstance(
-            NumberUtils.createNumber(StringUtils.trim(value))).get(path));
+        return path.gt(toNumber(path, value));
     }
 
     @Override
     protected BooleanExpression gte(NumberPath path, String value) {
-        Validate.isTrue(isNumeric(value), "Invalid numeric value");
-
-        return path.goe((Number) new NumberConversions<>(Projections.tuple(path)).newInstance(
-            NumberUtils.createNumber(StringUtils.trim(value))).get(path));
+        return path.goe(toNumber(path, value));
     }
 
     @Override
     protected BooleanExpression lt(NumberPath path, String value) {
-        Validate.isTrue(isNumeric(value), "Invalid numeric value");
-
-        return path.lt((Number) new NumberConversions<>(Projections.tuple(path)).newInstance(
-            NumberUtils.createNumber(StringUtils.trim(value))).get(path));
+        return path.lt(toNumber(path, value));
     }
 
     @Override
     protected BooleanExpression lte(NumberPath path, String value) {
-        Validate.isTrue(isNumeric(value), "Invalid numeric value");
+        return path.loe(toNumber(path, value));
+    }
 
-        return path.loe((Number) new NumberConversions<>(Projections.tuple(path)).newInstance(
-            NumberUtils.createNumber(StringUtils.trim(value))).get(path));
+    @Override
+    protected BooleanExpression between(NumberPath path, String from, String to) {
+        return path.between(toNumber(path, from), toNumber(path, to));
+    }
+
+    @Override
+    protected Comparable<?> toComparable(NumberPath path, String value) {
+        final var number = toNumber(path, value);
+        if (number instanceof Double d) {
+            // -0.0 and 0.0 are ordered apart by Double#compareTo but are equal for the underlying store
+            return d == 0 ? 0d : d;
+        } else if (number instanceof Float f) {
+            return f == 0 ? 0f : f;
+        }
+        return number instanceof Comparable<?> comparable
+            ? comparable
+            : null;
     }
 
+    @Override
+    protected BooleanExpression matchNone(NumberPath path) {
+        // an empty IN is serialized as a constant false condition by all Querydsl modules
+        return path.in(List.of());
+    }
+
+    private List<Number> toNumbers(NumberPath path, List<String> values) {
+        final var numbers = new ArrayList<Number>(values.size());
+        for (String value : values) {
+            numbers.add(toNumber(path, value));
+        }
+        return numbers;
+    }
 
-    private boolean isNumeric(String inValue) {
-        return NumberUtils.isParsable(StringUtils.trim(inValue));
+    private Number toNumber(NumberPath path, String value) {
+        final var trimmed = StringUtils.trim(value);
+        final var codec = NumberCodec.forType(path.getType());
+        if (codec != null) {
+            return codec.decode(trimmed);
+        }
+
+        // Non-standard Number types are left to Querydsl's conversions
+        Validate.isTrue(NumberUtils.isParsable(trimmed), "Invalid numeric value");
+        return (Number) new NumberConversions<>(Projections.tuple(path)).newInstance(
+            NumberUtils.createNumber(trimmed)).get(path);
     }
 }
@@ -89,6 +89,18 @@ public enum Operator {
         this.value = value;
     }
 
+    /**
+     * @return this operator along with its kebab case or camel case counterpart (for e.g. {@link #STARTS_WITH} and
+     * {@link #STARTSWITH}), if any
+     */
+    Operator[] withAliases() {
+        return switch (this) {
+            case STARTS_WITH, STARTSWITH -> new Operator[]{STARTS_WITH, STARTSWITH};
+            case ENDS_WITH, ENDSWITH -> new Operator[]{ENDS_WITH, ENDSWITH};
+            default -> new Operator[]{this};
+        };
+    }
+
     @Override
     public String toString() {
         return String.valueOf(value);
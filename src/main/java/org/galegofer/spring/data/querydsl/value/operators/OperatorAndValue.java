@@ -3,7 +3,6 @@ package org.galegofer.spring.data.querydsl.value.operators;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.ToStringBuilder;
-import org.springframework.data.util.Pair;
 import org.springframework.util.CollectionUtils;
 
 import java.util.Collection;
@@ -28,18 +27,16 @@ public class OperatorAndValue {
         Validate.isTrue(StringUtils.isNotBlank(input), "Input string cannot be blank");
         Validate.isTrue(!CollectionUtils.isEmpty(inOperators), "Input operators must not be empty");
 
-        final var operatorValue = inOperators.stream()
-            .filter(operator -> ExpressionProvider.isOperator(operator, input))
-            .findFirst()
-            .map(operator -> Pair.of(operator,
-                StringUtils.substringBeforeLast(
-                    StringUtils.substringAfter(input,
-                        operator + ExpressionProvider.OPERATOR_VALUE_DELIMITER_PREFIX),
-                    ExpressionProvider.OPERATOR_VALUE_DELIMITER_SUFFIX)))
-            .orElseGet(() -> Pair.of(defaultOperator, StringUtils.trim(input)));
+        final var node = OperatorValueParser.parse(input);
 
-        this.operator = operatorValue.getFirst();
-        this.value = operatorValue.getSecond();
+        if (node.isOperator() && inOperators.contains(node.getOperator())) {
+            this.operator = node.getOperator();
+            this.value = node.getOperand()
+                .getText();
+        } else {
+            this.operator = defaultOperator;
+            this.value = node.getText();
+        }
     }
 
     /**
@@ -0,0 +1,112 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Immutable node of the operator tree parsed from a single search value by {@link OperatorValueParser}.
+ * <p>
+ * Since every value operator is unary, the tree of a value is a chain: for e.g. <code>not(ci(startsWith(abc)))</code>
+ * is represented as NOT, CASE_IGNORE and STARTS_WITH operator nodes ending in a literal node spanning
+ * <code>abc</code>. Nodes only keep offsets into the original value, text is materialized on demand.
+ * </p>
+ */
+public final class OperatorValueNode {
+
+    private final String source;
+    private final int start;
+    private final int end;
+    private final Operator operator;
+    private final OperatorValueNode operand;
+    private final int imbalance;
+
+    OperatorValueNode(String source, int start, int end, Operator operator, OperatorValueNode operand,
+                      int imbalance) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.operator = operator;
+        this.operand = operand;
+        this.imbalance = imbalance;
+    }
+
+    /**
+     * @return the operator wrapping this node's operand, <code>null</code> if this node is a literal
+     */
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * @return <code>true</code> if this node is an operator node, <code>false</code> if it is a literal
+     */
+    public boolean isOperator() {
+        return operator != null;
+    }
+
+    /**
+     * @return the wrapped operand if this is an operator node, <code>null</code> for literals
+     */
+    public OperatorValueNode getOperand() {
+        return operand;
+    }
+
+    /**
+     * @return innermost node of the chain, i.e. the literal devoid of any operator
+     */
+    public OperatorValueNode getLiteral() {
+        var node = this;
+        while (node.operand != null) {
+            node = node.operand;
+        }
+        return node;
+    }
+
+    /**
+     * @return number of operators wrapping the literal starting from this node
+     */
+    public int getDepth() {
+        var depth = 0;
+        for (var node = this; node.operand != null; node = node.operand) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * @return raw text spanned by this node, for e.g. <code>ci(startsWith(abc))</code> for the second node of
+     * <code>not(ci(startsWith(abc)))</code>
+     */
+    public String getText() {
+        return source.substring(start, end);
+    }
+
+    /**
+     * @return <code>true</code> if the opening and closing delimiters of the value this node was parsed from are
+     * balanced, values which don't start with an operator are always considered well-formed
+     */
+    public boolean isWellFormed() {
+        return imbalance == 0;
+    }
+
+    /**
+     * Validates proper ordering and opening/closing delimiters of operators on the value this node was parsed from.
+     *
+     * @throws IllegalArgumentException if an invalid composition was found in parsed value
+     */
+    public void validateComposition() {
+        if (imbalance != 0) {
+            final var message = imbalance < 0
+                ? "Malformed (Incompletely closed) value: "
+                : "Malformed (bad-ordering) value: ";
+            throw new IllegalArgumentException(message + source);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+            .append("operator", operator)
+            .append("text", getText())
+            .toString();
+    }
+}
@@ -0,0 +1,114 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Arrays;
+
+/**
+ * Single pass lexer/parser for search values composed of value operators, for e.g.
+ * <code>not(ci(startsWith(abc)))</code>.
+ * <p>
+ * The value is walked exactly once. Operator names are matched in place against the characters preceding each
+ * opening delimiter at the head of the current nesting level, while the balance of delimiters over the whole value
+ * is tracked for {@link OperatorValueNode#validateComposition()}. A nesting level is an operator only if it starts
+ * with <code>operator(</code> and ends with <code>)</code>, anything else is a literal.
+ * </p>
+ * <p>
+ * Leading and trailing whitespaces of the value are ignored, whitespaces within operator operands are retained.
+ * </p>
+ */
+public final class OperatorValueParser {
+
+    private static final char PREFIX = ExpressionProvider.OPERATOR_VALUE_DELIMITER_PREFIX.charAt(0);
+    private static final char SUFFIX = ExpressionProvider.OPERATOR_VALUE_DELIMITER_SUFFIX.charAt(0);
+
+    private static final Operator[] OPERATORS = Operator.values();
+    private static final String[] OPERATOR_NAMES = Arrays.stream(OPERATORS)
+        .map(Operator::toString)
+        .toArray(String[]::new);
+
+    private OperatorValueParser() {
+    }
+
+    /**
+     * Parses the supplied value into its operator chain.
+     *
+     * @param input value to parse (search parameter's value)
+     * @return root {@link OperatorValueNode}, a literal node if the value doesn't start with an operator
+     */
+    public static OperatorValueNode parse(final String input) {
+        Validate.notNull(input, "Input string cannot be null");
+
+        var start = 0;
+        var end = input.length();
+        while (start < end && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+
+        Operator[] operators = null;
+        int[] starts = null;
+        var depth = 0;
+        var balance = 0;
+        var levelStart = start;
+        var levelEnd = end;
+        var lexingOperator = true;
+
+        for (var i = start; i < end; i++) {
+            final var c = input.charAt(i);
+            if (c == PREFIX) {
+                balance++;
+                if (lexingOperator) {
+                    final var operator = lookup(input, levelStart, i);
+                    if (operator != null && levelEnd - 1 > i && input.charAt(levelEnd - 1) == SUFFIX) {
+                        if (operators == null) {
+                            operators = new Operator[4];
+                            starts = new int[4];
+                        } else if (depth == operators.length) {
+                            operators = Arrays.copyOf(operators, depth << 1);
+                            starts = Arrays.copyOf(starts, depth << 1);
+                        }
+                        operators[depth] = operator;
+                        starts[depth] = levelStart;
+                        depth++;
+                        levelStart = i + 1;
+                        levelEnd--;
+                    } else {
+                        lexingOperator = false;
+                    }
+                }
+            } else {
+                if (c == SUFFIX) {
+                    balance--;
+                }
+                if (lexingOperator && !isOperatorNameChar(c)) {
+                    lexingOperator = false;
+                }
+            }
+        }
+
+        final var imbalance = depth > 0 ? balance : 0;
+        var node = new OperatorValueNode(input, levelStart, levelEnd, null, null, imbalance);
+        for (var level = depth - 1; level >= 0; level--) {
+            node = new OperatorValueNode(input, starts[level], end - level, operators[level], node, imbalance);
+        }
+        return node;
+    }
+
+    private static Operator lookup(String input, int from, int to) {
+        final var length = to - from;
+        for (var i = 0; i < OPERATOR_NAMES.length; i++) {
+            final var name = OPERATOR_NAMES[i];
+            if (name.length() == length && input.regionMatches(from, name, 0, length)) {
+                return OPERATORS[i];
+            }
+        }
+        return null;
+    }
+
+    private static boolean isOperatorNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-';
+    }
+}
@@ -0,0 +1,86 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Parses and validates large value lists in chunks on a {@link ForkJoinPool}, so that the latency of searches with
+ * thousands of values scales with the parallelism of the pool instead of the number of values.
+ * <p>
+ * Lists smaller than the threshold are processed on the calling thread. Larger lists are split into one chunk per
+ * worker of the pool (but no smaller than {@value #MINIMUM_CHUNK_SIZE} values), each chunk is processed in order and
+ * results are assembled in the order of the values, hence results are identical to sequential processing. If values
+ * fail, the failure of the first failing value is rethrown, as it would be by sequential processing.
+ * </p>
+ */
+final class ParallelParsing {
+
+    static final int MINIMUM_CHUNK_SIZE = 256;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    ParallelParsing(int threshold, ForkJoinPool pool) {
+        Validate.isTrue(threshold > 0, "Threshold must be > 0");
+        Validate.notNull(pool, "Pool must not be null");
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    /**
+     * @param values   values to process
+     * @param function processes a single value, must be thread-safe
+     * @return results of supplied function, in the order of supplied values
+     */
+    <T, R> List<R> map(List<T> values, Function<? super T, ? extends R> function) {
+        if (values.size() < threshold) {
+            final var result = new ArrayList<R>(values.size());
+            for (T value : values) {
+                result.add(function.apply(value));
+            }
+            return result;
+        }
+
+        final var size = values.size();
+        final var chunkSize = Math.max(MINIMUM_CHUNK_SIZE, (size + pool.getParallelism() - 1) / pool.getParallelism());
+        final var result = new Object[size];
+        final var chunks = new ArrayList<Callable<Void>>((size + chunkSize - 1) / chunkSize);
+        // failures are kept per chunk, since futures of a fork join pool rethrow copies of failures
+        final var failures = new Throwable[(size + chunkSize - 1) / chunkSize];
+        for (var from = 0; from < size; from += chunkSize) {
+            final var chunk = chunks.size();
+            final var start = from;
+            final var end = Math.min(size, from + chunkSize);
+            chunks.add(() -> {
+                try {
+                    for (var i = start; i < end; i++) {
+                        result[i] = function.apply(values.get(i));
+                    }
+                } catch (RuntimeException | Error e) {
+                    failures[chunk] = e;
+                }
+                return null;
+            });
+        }
+
+        pool.invokeAll(chunks);
+        for (Throwable failure : failures) {
+            if (failure instanceof RuntimeException e) {
+                throw e;
+            }
+            if (failure instanceof Error e) {
+                throw e;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        final var typed = (List<R>) Arrays.asList(result);
+        return typed;
+    }
+}
@@ -0,0 +1,98 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import com.querydsl.core.types.Path;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe index of search parameter names for {@link Path}s.
+ * <p>
+ * Aliases are kept in an immutable snapshot indexed in both directions which is replaced on every registration, so
+ * lookups never lock and never observe a partially registered alias. Request parameter names of paths, i.e. the path
+ * relative to its entity root, are computed once per entity root and path.
+ * </p>
+ */
+public final class PathAliasIndex {
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(Map.of(), Map.of()));
+
+    private final Map<Path<?>, Map<Path<?>, String>> requestParameterNames = new ConcurrentHashMap<>();
+
+    PathAliasIndex() {
+    }
+
+    /**
+     * Registers the alias for given path, replacing any previous alias of the path as well as any other path
+     * previously registered with the same alias.
+     *
+     * @param path  {@link Path} on which alias is applied
+     * @param alias String alias value for supplied path
+     */
+    void register(Path<?> path, String alias) {
+        Validate.notNull(path, "Path must not be null");
+        Validate.isTrue(StringUtils.isNotBlank(alias), "Alias must not be blank");
+        snapshot.updateAndGet(current -> current.with(path, alias));
+    }
+
+    /**
+     * @param path Path for which alias to be looked up.
+     * @return {@link Optional} of alias if available, otherwise empty {@link Optional}
+     */
+    public Optional<String> findAlias(Path<?> path) {
+        return Optional.ofNullable(path)
+            .map(snapshot.get().aliases::get);
+    }
+
+    /**
+     * @param alias Alias for which path to be looked up.
+     * @return {@link Optional} of path registered with given alias if available, otherwise empty {@link Optional}
+     */
+    public Optional<Path<?>> findPath(String alias) {
+        return Optional.ofNullable(alias)
+            .map(snapshot.get().paths::get);
+    }
+
+    /**
+     * @param root entity root of the search request
+     * @param path {@link Path} under given <code>root</code>
+     * @return name of the request parameter for given path, i.e. the path relative to its root
+     * @throws IllegalArgumentException if root of the path doesn't match supplied root
+     */
+    public String getRequestParameterName(Path<?> root, Path<?> path) {
+        Validate.notNull(root, "Root path must not be null");
+        Validate.notNull(path, "Input path must not be null to lookup original request parameter value");
+
+        return requestParameterNames.computeIfAbsent(root, r -> new ConcurrentHashMap<>())
+            .computeIfAbsent(path, p -> {
+                Validate.isTrue(p.getRoot()
+                    .getType()
+                    .equals(root.getType()), "Mismatch in type root in path and current context");
+
+                return StringUtils.replace(p.toString(), root + ".", StringUtils.EMPTY, 1);
+            });
+    }
+
+    private record Snapshot(Map<Path<?>, String> aliases, Map<String, Path<?>> paths) {
+
+        private Snapshot with(Path<?> path, String alias) {
+            final var newAliases = new HashMap<>(aliases);
+            final var newPaths = new HashMap<>(paths);
+
+            final var previousAlias = newAliases.put(path, alias);
+            if (previousAlias != null) {
+                newPaths.remove(previousAlias);
+            }
+            final var previousPath = newPaths.put(alias, path);
+            if (previousPath != null && !previousPath.equals(path)) {
+                newAliases.remove(previousPath);
+            }
+            return new Snapshot(Map.copyOf(newAliases), Map.copyOf(newPaths));
+        }
+    }
+}
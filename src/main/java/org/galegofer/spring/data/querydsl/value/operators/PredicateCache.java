@@ -0,0 +1,92 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of expressions built by {@link BaseExpressionProvider}, keyed by {@link Path}, the raw values
+ * (including value operators) the expression was built from and the version of the configuration it was built with
+ * (see {@link ExpressionProviderFactory#getConfigurationVersion()}), so that an expression built while the
+ * configuration changes is never returned once the change is complete.
+ * <p>
+ * Querydsl expressions are immutable so a cached expression can be shared across requests. Entries are weighed by
+ * the number of characters in their raw values and entries heavier than the configured entry weight limit are never
+ * cached, so that very large value lists don't evict the frequently used small ones.
+ * </p>
+ */
+final class PredicateCache {
+
+    private final Cache<Key, Optional<BooleanExpression>> cache;
+    private final long maximumEntryWeight;
+
+    PredicateCache(long maximumWeight, long maximumEntryWeight) {
+        Validate.isTrue(maximumWeight > 0, "Maximum weight must be > 0");
+        Validate.isTrue(maximumEntryWeight > 0, "Maximum entry weight must be > 0");
+        this.maximumEntryWeight = maximumEntryWeight;
+        this.cache = CacheBuilder.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((Key key, Optional<BooleanExpression> value) -> key.weight())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * @param path   path the expression is built for
+     * @param values raw values the expression is built from
+     * @param loader builds the expression on a cache miss, at most once at a time for the same key
+     * @return cached expression or the one built by <code>loader</code>
+     * @throws RuntimeException thrown by <code>loader</code>, such as {@link IllegalArgumentException} for invalid
+     *                          values
+     */
+    Optional<BooleanExpression> get(Path<?> path, List<String> values, Supplier<Optional<BooleanExpression>> loader) {
+        // the version is read before the loader reads the configuration
+        final var key = new Key(path, values, ExpressionProviderFactory.getConfigurationVersion());
+        if (key.weight() > maximumEntryWeight) {
+            return loader.get();
+        }
+
+        try {
+            return cache.get(key, loader::get);
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return hit, miss and eviction statistics of this cache
+     */
+    CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Discards all cached expressions.
+     */
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private record Key(Path<?> path, List<String> values, long configurationVersion) {
+
+        private int weight() {
+            var weight = 1;
+            for (String value : values) {
+                weight += value.length();
+            }
+            return weight;
+        }
+    }
+}
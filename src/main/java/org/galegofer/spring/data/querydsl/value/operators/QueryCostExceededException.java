@@ -0,0 +1,35 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the cost of the searches of a request, as computed by {@link QueryCostModel}, exceeds its budget.
+ * Spring MVC translates it into a <code>400 Bad Request</code> response.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Search is too expensive")
+public class QueryCostExceededException extends IllegalArgumentException {
+
+    private final long cost;
+    private final long budget;
+
+    public QueryCostExceededException(long cost, long budget) {
+        super("Search cost " + cost + " exceeds budget of " + budget);
+        this.cost = cost;
+        this.budget = budget;
+    }
+
+    /**
+     * @return accumulated cost of the searches of the request, including the rejected search
+     */
+    public long getCost() {
+        return cost;
+    }
+
+    /**
+     * @return budget that was exceeded
+     */
+    public long getBudget() {
+        return budget;
+    }
+}
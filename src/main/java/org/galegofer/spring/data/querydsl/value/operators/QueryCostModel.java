@@ -0,0 +1,187 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import com.querydsl.core.types.Path;
+import org.apache.commons.lang3.Validate;
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContextHolder;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable cost model of searches, enabled through
+ * {@link ExpressionProviderFactory#setQueryCostModel(QueryCostModel)}, which limits how expensive the searches of a
+ * request can be.
+ * <p>
+ * Every value of a search costs the sum of the weights of the operators it is composed of, plus the weight of
+ * {@link Operator#EQUAL} when its innermost operator isn't a comparison, for e.g. <code>not(ci(contains(abc)))</code>
+ * costs the weights of {@link Operator#NOT}, {@link Operator#CASE_IGNORE} and {@link Operator#CONTAINS} while
+ * <code>or(abc)</code> costs the weights of {@link Operator#OR} and of its implicit {@link Operator#EQUAL}. Weights
+ * are defined per operator and can be overridden per {@link Path}, for e.g. for making <code>contains</code> on a
+ * non-indexed column more expensive.
+ * </p>
+ * <p>
+ * Costs of all searches of a request are accumulated when
+ * {@link org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContext} is available
+ * (see {@link org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContext#getCost()}),
+ * otherwise every search is charged on its own. A search exceeding the budget is rejected with
+ * {@link QueryCostExceededException} before any expression is built.
+ * </p>
+ */
+public final class QueryCostModel {
+
+    private static final int OPERATORS = Operator.values().length;
+
+    // operators applied to an operand which is searched by its implicit EQUAL unless it's a comparison itself
+    private static final Set<Operator> NON_COMPARISONS =
+        EnumSet.of(Operator.AND, Operator.OR, Operator.NOT, Operator.CASE_IGNORE);
+
+    private final long budget;
+    private final int[] weights;
+    private final Map<Path<?>, int[]> pathWeights;
+
+    private QueryCostModel(Builder builder) {
+        this.budget = builder.budget;
+        this.weights = builder.weights.clone();
+        final var resolved = new HashMap<Path<?>, int[]>();
+        builder.pathWeights.forEach((path, overrides) -> {
+            final var effective = weights.clone();
+            for (var i = 0; i < OPERATORS; i++) {
+                if (overrides[i] >= 0) {
+                    effective[i] = overrides[i];
+                }
+            }
+            resolved.put(path, effective);
+        });
+        this.pathWeights = Map.copyOf(resolved);
+    }
+
+    /**
+     * @param budget maximum cost of the searches of a request
+     * @return a new {@link Builder} of a model with default weights: 1 for equality and comparison operators,
+     * {@link Operator#NOT} and {@link Operator#CASE_IGNORE}, 2 for <code>startsWith</code>, 10 for
+     * <code>contains</code> and <code>endsWith</code>, 20 for {@link Operator#MATCHES} and 0 for logical
+     * {@link Operator#AND} and {@link Operator#OR}
+     */
+    public static Builder builder(long budget) {
+        return new Builder(budget);
+    }
+
+    /**
+     * @return maximum cost of the searches of a request
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * @param path  searched path
+     * @param nodes parsed values of the search
+     * @return cost of supplied search
+     */
+    public long getCost(Path<?> path, List<OperatorValueNode> nodes) {
+        final var effective = pathWeights.getOrDefault(path, weights);
+        var cost = 0L;
+        for (OperatorValueNode node : nodes) {
+            Operator innermost = null;
+            for (var current = node; current.isOperator(); current = current.getOperand()) {
+                innermost = current.getOperator();
+                cost += effective[innermost.ordinal()];
+            }
+            if (innermost == null || NON_COMPARISONS.contains(innermost)) {
+                cost += effective[Operator.EQUAL.ordinal()];
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Charges the cost of a search to the current request, if any.
+     *
+     * @throws QueryCostExceededException if the accumulated cost exceeds the budget
+     */
+    void charge(Path<?> path, List<OperatorValueNode> nodes) {
+        final var cost = getCost(path, nodes);
+        final var ctx = QuerydslHttpRequestContextHolder.getContext();
+        final var total = ctx != null
+            ? ctx.addCost(cost)
+            : cost;
+        if (total > budget) {
+            throw new QueryCostExceededException(total, budget);
+        }
+    }
+
+    /**
+     * Builder of {@link QueryCostModel}.
+     */
+    public static final class Builder {
+
+        private final long budget;
+        private final int[] weights = new int[OPERATORS];
+        private final Map<Path<?>, int[]> pathWeights = new HashMap<>();
+
+        private Builder(long budget) {
+            Validate.isTrue(budget >= 0, "Budget must not be negative");
+            this.budget = budget;
+            Arrays.fill(weights, 1);
+            weights[Operator.STARTS_WITH.ordinal()] = 2;
+            weights[Operator.STARTSWITH.ordinal()] = 2;
+            weights[Operator.CONTAINS.ordinal()] = 10;
+            weights[Operator.ENDS_WITH.ordinal()] = 10;
+            weights[Operator.ENDSWITH.ordinal()] = 10;
+            weights[Operator.MATCHES.ordinal()] = 20;
+            weights[Operator.AND.ordinal()] = 0;
+            weights[Operator.OR.ordinal()] = 0;
+        }
+
+        /**
+         * Sets the weight of an operator. Weights of kebab case operators (for e.g. {@link Operator#STARTSWITH})
+         * are shared with their camel case counterparts.
+         *
+         * @param operator operator
+         * @param weight   cost of every use of the operator
+         * @return this builder
+         */
+        public Builder weight(Operator operator, int weight) {
+            Validate.notNull(operator, "Operator must not be null");
+            Validate.isTrue(weight >= 0, "Weight must not be negative");
+            for (Operator target : operator.withAliases()) {
+                weights[target.ordinal()] = weight;
+            }
+            return this;
+        }
+
+        /**
+         * Sets the weight of an operator on a path, overriding {@link #weight(Operator, int)}.
+         *
+         * @param path     path the weight applies to
+         * @param operator operator
+         * @param weight   cost of every use of the operator on the path
+         * @return this builder
+         */
+        public Builder weight(Path<?> path, Operator operator, int weight) {
+            Validate.notNull(path, "Path must not be null");
+            Validate.notNull(operator, "Operator must not be null");
+            Validate.isTrue(weight >= 0, "Weight must not be negative");
+            final var overrides = pathWeights.computeIfAbsent(path, p -> {
+                final var initial = new int[OPERATORS];
+                Arrays.fill(initial, -1);
+                return initial;
+            });
+            for (Operator target : operator.withAliases()) {
+                overrides[target.ordinal()] = weight;
+            }
+            return this;
+        }
+
+        /**
+         * @return immutable {@link QueryCostModel}
+         */
+        public QueryCostModel build() {
+            return new QueryCostModel(this);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Iterables;
+import com.querydsl.collections.CollQuery;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.lang3.Validate;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Opt-in cache of the results of {@link QuerydslPredicateExecutor} searches (<code>findOne</code>,
+ * <code>findAll</code>, <code>count</code> and <code>exists</code> by {@link Predicate}), applied to Spring Data
+ * repositories as a {@link RepositoryProxyPostProcessor}, for e.g. through
+ * {@link QuerydslResultCacheBeanPostProcessor}.
+ * <p>
+ * Cache is bounded by weight, where each entry weighs the number of entities it holds plus one, and entries expire
+ * after a time-to-live. Writes through a repository evict cached results of its entity type as precisely as possible:
+ * </p>
+ * <ul>
+ * <li>an entity saved or deleted through <code>save*</code>, <code>delete(entity)</code> or
+ * <code>deleteAll(entities)</code> (and their <code>*AndFlush</code> or <code>*InBatch</code> variants) is evaluated
+ * in memory against each cached predicate with querydsl-collections; results holding all matches
+ * (<code>findOne</code> and unpaged <code>findAll</code>) are evicted only if the entity matches the predicate or is
+ * part of the result (i.e. matched before the write), other results (pages, counts and existence) are evicted on
+ * deletion of a matching entity but on any save, since the state of a saved entity before the write is unknown</li>
+ * <li>any other modifying method (for e.g. <code>deleteById</code>) evicts all cached results of the entity type</li>
+ * </ul>
+ * <p>
+ * Entities are identified by the field annotated with <code>org.springframework.data.annotation.Id</code> or
+ * <code>jakarta.persistence.Id</code>, or else by {@link Object#equals(Object)}. Predicates that can't be evaluated in
+ * memory evict conservatively. Searches by a predicate matching nothing (see
+ * {@link ExpressionProviderFactory#isUnsatisfiable(Predicate)}) return an empty result without querying the store.
+ * Results are shared among callers and must not be modified.
+ * </p>
+ * <p>
+ * Eviction happens as the write method returns and, when Spring transaction synchronization is active, once more after
+ * the transaction commits or rolls back, since searches may cache a result read before the commit, or rows which are
+ * rolled back, in the meantime. A search running while results of its entity type are evicted doesn't cache its
+ * result, which may have been read before the write.
+ * </p>
+ */
+public final class QuerydslResultCache implements RepositoryProxyPostProcessor {
+
+    private static final Set<String> CACHED_METHODS = Set.of("findOne", "findAll", "count", "exists");
+
+    private static final Set<String> SAVE_METHODS = Set.of("save", "saveAndFlush", "saveAll", "saveAllAndFlush");
+
+    private static final Set<String> DELETE_METHODS = Set.of("delete", "deleteAll", "deleteInBatch",
+        "deleteAllInBatch");
+
+    private static final List<String> READ_METHOD_PREFIXES = List.of("find", "get", "read", "query", "search",
+        "stream", "count", "exists");
+
+    private static final boolean TRANSACTIONS_PRESENT = ClassUtils.isPresent(
+        "org.springframework.transaction.support.TransactionSynchronizationManager",
+        QuerydslResultCache.class.getClassLoader());
+
+    private final Cache<Key, Object> results;
+
+    // incremented by every eviction of an entity type, before cached results are evicted
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private QuerydslResultCache(Builder builder) {
+        this.results = CacheBuilder.newBuilder()
+            .maximumWeight(builder.maximumWeight)
+            .weigher((Key key, Object result) -> weigh(result))
+            .expireAfterWrite(builder.timeToLive)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * @return a new {@link Builder} of a cache holding up to 10000 entities for 5 minutes
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return hit, miss and eviction statistics of this cache
+     */
+    public CacheStats stats() {
+        return results.stats();
+    }
+
+    /**
+     * Evicts all cached results of an entity type, for e.g. after the type was modified outside of its repository.
+     *
+     * @param entityType entity (domain) type
+     */
+    public void evictAll(Class<?> entityType) {
+        generation(entityType).incrementAndGet();
+        results.asMap()
+            .keySet()
+            .removeIf(key -> key.entityType().equals(entityType));
+    }
+
+    /**
+     * Evicts all cached results.
+     */
+    public void evictAll() {
+        generations.values()
+            .forEach(AtomicLong::incrementAndGet);
+        results.invalidateAll();
+    }
+
+    /**
+     * Evicts cached results of an entity type which an entity written outside of its repository could affect.
+     *
+     * @param entityType entity (domain) type
+     * @param entity     saved entity (in its state after the write)
+     */
+    public void evictSaved(Class<?> entityType, Object entity) {
+        evictNowAndAfterTransaction(() -> evict(entityType, entity, false));
+    }
+
+    /**
+     * Evicts cached results of an entity type which an entity deleted outside of its repository could affect.
+     *
+     * @param entityType entity (domain) type
+     * @param entity     deleted entity
+     */
+    public void evictDeleted(Class<?> entityType, Object entity) {
+        evictNowAndAfterTransaction(() -> evict(entityType, entity, true));
+    }
+
+    @Override
+    public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
+        if (QuerydslPredicateExecutor.class.isAssignableFrom(repositoryInformation.getRepositoryInterface())) {
+            factory.addAdvice(new CachingInterceptor(repositoryInformation.getDomainType()));
+        }
+    }
+
+    private static void evictNowAndAfterTransaction(Runnable eviction) {
+        eviction.run();
+        if (TRANSACTIONS_PRESENT) {
+            TransactionalEviction.register(eviction);
+        }
+    }
+
+    private void evict(Class<?> entityType, Object entity, boolean deleted) {
+        if (entity == null) {
+            return;
+        }
+
+        generation(entityType).incrementAndGet();
+        // predicates are evaluated once per write, regardless of how many results were cached for them
+        final var matches = new HashMap<Predicate, Boolean>();
+        results.asMap()
+            .entrySet()
+            .removeIf(entry -> {
+                final var key = entry.getKey();
+                if (!key.entityType().equals(entityType)) {
+                    return false;
+                }
+                if (!key.complete() && !deleted) {
+                    return true;
+                }
+                return matches.computeIfAbsent(key.predicate(), predicate -> matches(predicate, entity))
+                    || contains(entry.getValue(), entity);
+            });
+    }
+
+    private AtomicLong generation(Class<?> entityType) {
+        return generations.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean matches(Predicate predicate, Object entity) {
+        final var root = findRoot(predicate);
+        if (root == null || !root.getType().isInstance(entity)) {
+            return root == null;
+        }
+        try {
+            final var path = (Path<Object>) root;
+            return new CollQuery<Void>().from(path, List.of(entity))
+                .where(predicate)
+                .select(path)
+                .fetchFirst() != null;
+        } catch (RuntimeException e) {
+            // predicate can't be evaluated in memory, assume it's affected
+            return true;
+        }
+    }
+
+    private static Path<?> findRoot(Expression<?> expression) {
+        if (expression instanceof BooleanBuilder builder) {
+            return findRoot(builder.getValue());
+        } else if (expression instanceof Path<?> path) {
+            return path.getRoot();
+        } else if (expression instanceof Operation<?> operation) {
+            for (Expression<?> arg : operation.getArgs()) {
+                final var root = findRoot(arg);
+                if (root != null) {
+                    return root;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean contains(Object result, Object entity) {
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() && EntityIdentity.isSame(optional.get(), entity);
+        } else if (result instanceof Iterable<?> iterable) {
+            for (Object element : iterable) {
+                if (EntityIdentity.isSame(element, entity)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int weigh(Object result) {
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 2 : 1;
+        } else if (result instanceof Iterable<?> iterable) {
+            return 1 + Iterables.size(iterable);
+        }
+        return 1;
+    }
+
+    /**
+     * Key of a cached result.
+     *
+     * @param entityType entity type of the repository
+     * @param method     searching method
+     * @param predicate  searched predicate
+     * @param arguments  other arguments of searching method
+     * @param complete   if the result holds every entity matching the predicate
+     */
+    private record Key(Class<?> entityType, Method method, Predicate predicate, List<Object> arguments,
+                       boolean complete) {
+    }
+
+    private final class CachingInterceptor implements MethodInterceptor {
+
+        private final Class<?> entityType;
+
+        private CachingInterceptor(Class<?> entityType) {
+            this.entityType = entityType;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            final var method = invocation.getMethod();
+            final var name = method.getName();
+            final var arguments = invocation.getArguments();
+
+            if (CACHED_METHODS.contains(name) && arguments.length > 0 && arguments[0] instanceof Predicate predicate) {
+                return search(invocation, predicate);
+            } else if (method.getDeclaringClass() == Object.class
+                || READ_METHOD_PREFIXES.stream().anyMatch(name::startsWith)) {
+                return invocation.proceed();
+            }
+
+            final var result = invocation.proceed();
+            if (SAVE_METHODS.contains(name)) {
+                evictNowAndAfterTransaction(() -> forEach(result, entity -> evict(entityType, entity, false)));
+            } else if (DELETE_METHODS.contains(name) && arguments.length == 1 && arguments[0] != null
+                && (arguments[0] instanceof Iterable<?> || entityType.isInstance(arguments[0]))) {
+                evictNowAndAfterTransaction(() -> forEach(arguments[0], entity -> evict(entityType, entity, true)));
+            } else {
+                evictNowAndAfterTransaction(() -> evictAll(entityType));
+            }
+            return result;
+        }
+
+        private Object search(MethodInvocation invocation, Predicate predicate) throws Throwable {
+            final var arguments = invocation.getArguments();
+            final var others = Arrays.stream(arguments, 1, arguments.length)
+                .map(argument -> argument instanceof Object[] array ? Arrays.asList(array) : argument)
+                .toList();
+            final var complete = !invocation.getMethod().getName().equals("count")
+                && !invocation.getMethod().getName().equals("exists")
+                && others.stream().noneMatch(Pageable.class::isInstance);
+            final var key = new Key(entityType, invocation.getMethod(), predicate, others, complete);
+
+            final var cached = results.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            final var generation = generation(entityType);
+            final var start = generation.get();
+            final var result = ExpressionProviderFactory.isUnsatisfiable(predicate)
+                ? emptyResult(invocation.getMethod(), others)
+                : invocation.proceed();
+            if (result != null && generation.get() == start) {
+                results.put(key, result);
+                // an eviction which started after the check above may have missed the result, evict it here instead
+                if (generation.get() != start) {
+                    results.asMap().remove(key, result);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return result of a search which provably matches nothing, without querying the store
+         */
+        private Object emptyResult(Method method, List<Object> others) {
+            final var returnType = method.getReturnType();
+            if (returnType == Optional.class) {
+                return Optional.empty();
+            } else if (returnType == long.class) {
+                return 0L;
+            } else if (returnType == boolean.class) {
+                return false;
+            } else if (returnType == Page.class) {
+                return Page.empty(others.stream()
+                    .filter(Pageable.class::isInstance)
+                    .map(Pageable.class::cast)
+                    .findFirst()
+                    .orElse(Pageable.unpaged()));
+            }
+            return List.of();
+        }
+
+        private void forEach(Object entities, Consumer<Object> action) {
+            if (entities instanceof Iterable<?> iterable) {
+                iterable.forEach(action);
+            } else if (entities != null) {
+                action.accept(entities);
+            }
+        }
+    }
+
+    /**
+     * Repeats evictions once the transaction of the current thread, if any, completes. Kept apart so that spring-tx is
+     * only loaded when present.
+     */
+    private static final class TransactionalEviction {
+
+        private static void register(Runnable eviction) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        eviction.run();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Builder of {@link QuerydslResultCache}.
+     */
+    public static final class Builder {
+
+        private long maximumWeight = 10_000;
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        private Builder() {
+        }
+
+        /**
+         * @param maximumWeight maximum number of entities (plus one per cached result) held by the cache
+         * @return this builder
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            Validate.isTrue(maximumWeight >= 0, "Maximum weight must not be negative");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * @param timeToLive duration after which a cached result expires
+         * @return this builder
+         */
+        public Builder timeToLive(Duration timeToLive) {
+            Validate.isTrue(timeToLive != null && !timeToLive.isNegative(), "Time to live must not be negative");
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * @return {@link QuerydslResultCache}
+         */
+        public QuerydslResultCache build() {
+            return new QuerydslResultCache(this);
+        }
+    }
+}
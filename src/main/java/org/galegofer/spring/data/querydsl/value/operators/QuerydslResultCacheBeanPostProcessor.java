@@ -0,0 +1,30 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Applies a {@link QuerydslResultCache} to every Spring Data repository implementing
+ * {@link org.springframework.data.querydsl.QuerydslPredicateExecutor}, for e.g.:
+ * <pre>
+ * &#64;Bean
+ * public static QuerydslResultCacheBeanPostProcessor querydslResultCacheBeanPostProcessor() {
+ *     return new QuerydslResultCacheBeanPostProcessor(QuerydslResultCache.builder().build());
+ * }
+ * </pre>
+ */
+@RequiredArgsConstructor
+public class QuerydslResultCacheBeanPostProcessor implements BeanPostProcessor {
+
+    private final QuerydslResultCache cache;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(cache));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,229 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContext;
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Compiles the complete search of a request, i.e. the values (including value operators) of all of its parameters, into
+ * a single predicate in one pass, as an alternative to binding every path separately with
+ * <code>bindings.bind(...).all(...)</code>, which resolves the provider and the original request values of each path on
+ * its own, for e.g.:
+ * <pre>
+ * private static final RequestPredicateCompiler COMPILER = RequestPredicateCompiler.builder(QUser.user)
+ *     .path(QUser.user.userName, QUser.user.salary, QUser.user.status)
+ *     .build();
+ *
+ * &#64;GetMapping("/users")
+ * public Page&lt;User&gt; search(HttpServletRequest request, Pageable pageable) {
+ *     return COMPILER.compile(request.getParameterMap())
+ *         .map(predicate -&gt; repository.findAll(predicate, pageable))
+ *         .orElseGet(() -&gt; repository.findAll(pageable));
+ * }
+ * </pre>
+ * <p>
+ * Only the paths supplied to the builder are searchable, by their name relative to the root (as bound by Spring Data) or
+ * by their registered alias, any other parameter (for e.g. paging parameters) is ignored. Compiled predicates are cached
+ * as a unit under the {@link CanonicalSearch} of the searched parameters and the paths they resolve to, so that
+ * differently spelled but equivalent requests share an entry; changes to the configuration of
+ * {@link ExpressionProviderFactory} (aliases, string value policies, date time formatters, ...) make cached predicates
+ * stale. The query cost (see {@link QueryCostModel}) is charged on
+ * every compilation, cached or not, and a search matching nothing because of a single parameter is compiled into just
+ * the predicate of that parameter.
+ * </p>
+ * <p>
+ * When a {@link QuerydslHttpRequestContext} is available, values of searched parameters are taken from the original
+ * request, like expression providers do, since parameter values devoid of value operators (for e.g. those of a
+ * request wrapped by
+ * {@link org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContextAwareServletFilter})
+ * would otherwise be searched by equality.
+ * </p>
+ */
+public final class RequestPredicateCompiler {
+
+    private final Map<String, Path<?>> paths;
+    private final Set<Path<?>> searchable;
+    private final Cache<Key, Optional<Predicate>> cache;
+
+    private RequestPredicateCompiler(Builder builder) {
+        this.paths = Map.copyOf(builder.paths);
+        this.searchable = Set.copyOf(builder.paths.values());
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(builder.maximumSize)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * @param root entity root of searched paths
+     * @return a new {@link Builder} of a compiler caching up to 1000 compiled searches
+     */
+    public static Builder builder(EntityPath<?> root) {
+        return new Builder(root);
+    }
+
+    /**
+     * @param parameters values of request parameters by name, for e.g. the parameter map of a servlet request, whose
+     *                   values are superseded by the original values of the current {@link QuerydslHttpRequestContext}
+     *                   if any
+     * @return {@link Optional} of {@link Predicate} matching all searched parameters, empty if none is searched
+     * @throws IllegalArgumentException   if a value is malformed
+     * @throws QueryCostExceededException if the cost of the search exceeds the budget
+     */
+    public Optional<Predicate> compile(Map<String, String[]> parameters) {
+        Validate.notNull(parameters, "Parameters must not be null");
+
+        // the version is read before any path is resolved or predicate is built with the configuration
+        final var configurationVersion = ExpressionProviderFactory.getConfigurationVersion();
+        final var context = QuerydslHttpRequestContextHolder.getContext();
+        final var searched = new HashMap<String, List<String>>();
+        final var resolved = new HashMap<String, Path<?>>();
+        parameters.forEach((name, transformed) -> {
+            final var original = context != null
+                ? context.getOriginalValues(name)
+                : null;
+            final var values = original != null
+                ? original
+                : transformed;
+            final var path = resolvePath(name);
+            if (values != null && path != null) {
+                final var nonBlank = Arrays.stream(values)
+                    .filter(StringUtils::isNotBlank)
+                    .toList();
+                if (!nonBlank.isEmpty()) {
+                    searched.put(name, nonBlank);
+                    resolved.put(name, path);
+                }
+            }
+        });
+        if (searched.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final var search = CanonicalSearch.of(searched);
+        final var nodes = new HashMap<String, List<OperatorValueNode>>();
+        search.getParameters()
+            .forEach((name, values) -> nodes.put(name, values.stream()
+                .map(OperatorValueParser::parse)
+                .toList()));
+        // cost is charged before any predicate is built, even for cached predicates which are executed all the same
+        ExpressionProviderFactory.getQueryCostModel()
+            .ifPresent(model -> nodes.forEach((name, parsed) -> model.charge(resolved.get(name), parsed)));
+
+        final var key = new Key(search, Map.copyOf(resolved), configurationVersion);
+        try {
+            return cache.get(key, () -> build(search, resolved, nodes));
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return hit, miss and eviction statistics of compiled searches
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Optional<Predicate> build(CanonicalSearch search, Map<String, Path<?>> resolved,
+                                      Map<String, List<OperatorValueNode>> nodes) {
+        final var predicates = new ArrayList<Predicate>(nodes.size());
+        for (Map.Entry<String, List<String>> parameter : search.getParameters().entrySet()) {
+            final var path = resolved.get(parameter.getKey());
+            final var provider = ExpressionProviderFactory.getProvider(path);
+            Validate.validState(provider != null, "No expression provider is registered for path %s", path);
+
+            final Optional<? extends Predicate> predicate = provider instanceof BaseExpressionProvider base
+                ? base.buildExpression(path, nodes.get(parameter.getKey()))
+                : provider.getPredicate(path, parameter.getValue());
+            if (predicate.isPresent()) {
+                if (ExpressionProviderFactory.isUnsatisfiable(predicate.get())) {
+                    return Optional.of(predicate.get());
+                }
+                predicates.add(predicate.get());
+            }
+        }
+        return Optional.ofNullable(ExpressionUtils.allOf(predicates));
+    }
+
+    private Path<?> resolvePath(String name) {
+        final var path = paths.get(name);
+        return path != null
+            ? path
+            : ExpressionProviderFactory.findPath(name)
+                .filter(searchable::contains)
+                .orElse(null);
+    }
+
+    private record Key(CanonicalSearch search, Map<String, Path<?>> paths, long configurationVersion) {
+    }
+
+    /**
+     * Builder of {@link RequestPredicateCompiler}.
+     */
+    public static final class Builder {
+
+        private final EntityPath<?> root;
+        private final Map<String, Path<?>> paths = new HashMap<>();
+        private long maximumSize = 1000;
+
+        private Builder(EntityPath<?> root) {
+            Validate.notNull(root, "Root path must not be null");
+            this.root = root;
+        }
+
+        /**
+         * @param paths searchable paths under the root
+         * @return this builder
+         * @throws IllegalArgumentException if a path is not under the root
+         */
+        public Builder path(Path<?>... paths) {
+            Validate.noNullElements(paths, "Paths must not be null");
+            for (Path<?> path : paths) {
+                this.paths.put(ExpressionProviderFactory.getPathAliasIndex()
+                    .getRequestParameterName(root, path), path);
+            }
+            return this;
+        }
+
+        /**
+         * @param maximumSize maximum number of compiled searches cached
+         * @return this builder
+         */
+        public Builder maximumSize(long maximumSize) {
+            Validate.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * @return {@link RequestPredicateCompiler}
+         */
+        public RequestPredicateCompiler build() {
+            Validate.validState(!paths.isEmpty(), "At least one searchable path is required");
+            return new RequestPredicateCompiler(this);
+        }
+    }
+}
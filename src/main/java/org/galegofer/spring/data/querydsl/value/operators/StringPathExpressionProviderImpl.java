@@ -2,15 +2,11 @@ package org.galegofer.spring.data.querydsl.value.operators;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.StringPath;
-import org.apache.commons.lang3.Validate;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 class StringPathExpressionProviderImpl extends BaseExpressionProvider<StringPath> {
 
-    private static final Pattern WHITE_LISTED = Pattern.compile("[A-Za-z0-9-_@:]{1,64}");
-
     public StringPathExpressionProviderImpl() {
         super(List.of(Operator.EQUAL, Operator.NOT_EQUAL, Operator.CONTAINS, Operator.STARTS_WITH, Operator.STARTSWITH,
             Operator.ENDS_WITH, Operator.ENDSWITH, Operator.NOT, Operator.MATCHES, Operator.CASE_IGNORE));
@@ -22,9 +18,12 @@ class StringPathExpressionProviderImpl extends BaseExpressionProvider<StringPath
     }
 
     @Override
-    protected BooleanExpression eq(StringPath path, String value, boolean ignoreCase) {
-        Validate.isTrue(isValidString(value), "Invalid string value");
+    protected void validate(StringPath path, Operator operator, String value) {
+        ExpressionProviderFactory.getStringValuePolicy(path).validate(operator, value);
+    }
 
+    @Override
+    protected BooleanExpression eq(StringPath path, String value, boolean ignoreCase) {
         return ignoreCase
             ? path.equalsIgnoreCase(value)
             : path.eq(value);
@@ -32,17 +31,35 @@ class StringPathExpressionProviderImpl extends BaseExpressionProvider<StringPath
 
     @Override
     protected BooleanExpression ne(StringPath path, String value, boolean ignoreCase) {
-        Validate.isTrue(isValidString(value), "Invalid string value");
-
         return ignoreCase
             ? path.notEqualsIgnoreCase(value)
             : path.ne(value);
     }
 
+    /**
+     * Case insensitive values are composed by the default implementation, since not every Querydsl module supports
+     * IN over a lower-cased path.
+     */
     @Override
-    protected BooleanExpression contains(StringPath path, String value, boolean ignoreCase) {
-        Validate.isTrue(isValidString(value), "Invalid string value");
+    protected BooleanExpression in(StringPath path, List<String> values, boolean ignoreCase) {
+        return ignoreCase
+            ? super.in(path, values, true)
+            : path.in(values);
+    }
+
+    /**
+     * Case insensitive values are composed by the default implementation, since not every Querydsl module supports
+     * NOT IN over a lower-cased path.
+     */
+    @Override
+    protected BooleanExpression notIn(StringPath path, List<String> values, boolean ignoreCase) {
+        return ignoreCase
+            ? super.notIn(path, values, true)
+            : path.notIn(values);
+    }
 
+    @Override
+    protected BooleanExpression contains(StringPath path, String value, boolean ignoreCase) {
         return ignoreCase
             ? path.containsIgnoreCase(value)
             : path.contains(value);
@@ -50,8 +67,6 @@ class StringPathExpressionProviderImpl extends BaseExpressionProvider<StringPath
 
     @Override
     protected BooleanExpression startsWith(StringPath path, String value, boolean ignoreCase) {
-        Validate.isTrue(isValidString(value), "Invalid string value");
-
         return ignoreCase
             ? path.startsWithIgnoreCase(value)
             : path.startsWith(value);
@@ -59,8 +74,6 @@ class StringPathExpressionProviderImpl extends BaseExpressionProvider<StringPath
 
     @Override
     protected BooleanExpression endsWith(StringPath path, String value, boolean ignoreCase) {
-        Validate.isTrue(isValidString(value), "Invalid string value");
-
         return ignoreCase
             ? path.endsWithIgnoreCase(value)
             : path.endsWith(value);
@@ -68,8 +81,6 @@ class StringPathExpressionProviderImpl extends BaseExpressionProvider<StringPath
 
     @Override
     protected BooleanExpression matches(StringPath path, String value) {
-        Validate.isTrue(isValidString(value), "Invalid string value");
-
         return path.matches(value);
     }
 
@@ -92,8 +103,4 @@ class StringPathExpressionProviderImpl extends BaseExpressionProvider<StringPath
     protected BooleanExpression lte(StringPath path, String value) {
         throw new UnsupportedOperationException("String value can't be searched using lte operator");
     }
-
-    private boolean isValidString(String value) {
-        return WHITE_LISTED.matcher(value).matches();
-    }
 }
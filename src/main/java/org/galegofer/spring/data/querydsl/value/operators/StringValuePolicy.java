@@ -0,0 +1,211 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Arrays;
+
+/**
+ * Immutable validation policy for values searched on a {@link com.querydsl.core.types.dsl.StringPath}, registered
+ * per path or alias through {@link ExpressionProviderFactory#registerStringValuePolicy(com.querydsl.core.types.Path,
+ * StringValuePolicy)}.
+ * <p>
+ * A policy defines the (ASCII) characters allowed in a value and the minimum and maximum length of a value, which
+ * can be narrowed per {@link Operator}. Values are checked by a single scan against a precompiled character table,
+ * without any allocation, before any expression is built.
+ * </p>
+ * <p>
+ * The {@link #DEFAULT} policy allows letters, digits, <code>-</code>, <code>_</code>, <code>@</code> and
+ * <code>:</code> with a length of 1 to 64 characters.
+ * </p>
+ */
+public final class StringValuePolicy {
+
+    private static final int OPERATORS = Operator.values().length;
+
+    /**
+     * Policy applied to paths without an explicitly registered policy.
+     */
+    public static final StringValuePolicy DEFAULT = builder()
+        .allowLetters()
+        .allowDigits()
+        .allowCharacters("-_@:")
+        .length(1, 64)
+        .build();
+
+    private final long lowAllowed;
+    private final long highAllowed;
+    private final int[] minLengths;
+    private final int[] maxLengths;
+
+    private StringValuePolicy(Builder builder) {
+        this.lowAllowed = builder.lowAllowed;
+        this.highAllowed = builder.highAllowed;
+        this.minLengths = new int[OPERATORS];
+        this.maxLengths = new int[OPERATORS];
+        for (Operator operator : Operator.values()) {
+            final var ordinal = operator.ordinal();
+            minLengths[ordinal] = builder.operatorMinLengths[ordinal] >= 0
+                ? builder.operatorMinLengths[ordinal]
+                : builder.minLength;
+            maxLengths[ordinal] = builder.operatorMaxLengths[ordinal] >= 0
+                ? builder.operatorMaxLengths[ordinal]
+                : builder.maxLength;
+        }
+    }
+
+    /**
+     * @return a new {@link Builder} of a policy which allows no characters and values of any length
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param operator operator the value is searched with
+     * @param value    value to check
+     * @return <code>true</code> if supplied value satisfies this policy for given operator
+     */
+    public boolean isValid(Operator operator, String value) {
+        if (value == null) {
+            return false;
+        }
+
+        final var length = value.length();
+        final var ordinal = operator.ordinal();
+        if (length < minLengths[ordinal] || length > maxLengths[ordinal]) {
+            return false;
+        }
+
+        for (var i = 0; i < length; i++) {
+            if (!isAllowed(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param operator operator the value is searched with
+     * @param value    value to check
+     * @throws IllegalArgumentException if supplied value doesn't satisfy this policy for given operator
+     */
+    public void validate(Operator operator, String value) {
+        if (!isValid(operator, value)) {
+            throw new IllegalArgumentException("Invalid string value");
+        }
+    }
+
+    private boolean isAllowed(char c) {
+        if (c < 64) {
+            return (lowAllowed & (1L << c)) != 0;
+        } else if (c < 128) {
+            return (highAllowed & (1L << (c - 64))) != 0;
+        }
+        return false;
+    }
+
+    /**
+     * Builder of {@link StringValuePolicy}.
+     */
+    public static final class Builder {
+
+        private long lowAllowed;
+        private long highAllowed;
+        private int minLength = 0;
+        private int maxLength = Integer.MAX_VALUE;
+        private final int[] operatorMinLengths = new int[OPERATORS];
+        private final int[] operatorMaxLengths = new int[OPERATORS];
+
+        private Builder() {
+            Arrays.fill(operatorMinLengths, -1);
+            Arrays.fill(operatorMaxLengths, -1);
+        }
+
+        /**
+         * @return this builder allowing <code>A-Z</code> and <code>a-z</code>
+         */
+        public Builder allowLetters() {
+            return allowRange('A', 'Z').allowRange('a', 'z');
+        }
+
+        /**
+         * @return this builder allowing <code>0-9</code>
+         */
+        public Builder allowDigits() {
+            return allowRange('0', '9');
+        }
+
+        /**
+         * @param from first allowed character (inclusive)
+         * @param to   last allowed character (inclusive)
+         * @return this builder allowing supplied range of ASCII characters
+         */
+        public Builder allowRange(char from, char to) {
+            Validate.isTrue(from <= to && to < 128, "Only ranges of ASCII characters can be allowed");
+            for (var c = from; c <= to; c++) {
+                allow(c);
+            }
+            return this;
+        }
+
+        /**
+         * @param characters allowed characters
+         * @return this builder allowing supplied ASCII characters
+         */
+        public Builder allowCharacters(String characters) {
+            Validate.notNull(characters, "Characters must not be null");
+            for (var i = 0; i < characters.length(); i++) {
+                final var c = characters.charAt(i);
+                Validate.isTrue(c < 128, "Only ASCII characters can be allowed");
+                allow(c);
+            }
+            return this;
+        }
+
+        /**
+         * @param minLength minimum length of values
+         * @param maxLength maximum length of values
+         * @return this builder limiting length of values searched with any operator
+         */
+        public Builder length(int minLength, int maxLength) {
+            Validate.isTrue(minLength >= 0 && minLength <= maxLength, "Invalid length limits");
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            return this;
+        }
+
+        /**
+         * Limits length of values searched with an operator, overriding {@link #length(int, int)}. Limits of kebab
+         * case operators (for e.g. {@link Operator#STARTSWITH}) are shared with their camel case counterparts.
+         *
+         * @param operator  operator the limits apply to
+         * @param minLength minimum length of values
+         * @param maxLength maximum length of values
+         * @return this builder
+         */
+        public Builder length(Operator operator, int minLength, int maxLength) {
+            Validate.notNull(operator, "Operator must not be null");
+            Validate.isTrue(minLength >= 0 && minLength <= maxLength, "Invalid length limits");
+            for (Operator target : operator.withAliases()) {
+                operatorMinLengths[target.ordinal()] = minLength;
+                operatorMaxLengths[target.ordinal()] = maxLength;
+            }
+            return this;
+        }
+
+        /**
+         * @return immutable {@link StringValuePolicy}
+         */
+        public StringValuePolicy build() {
+            return new StringValuePolicy(this);
+        }
+
+        private void allow(char c) {
+            if (c < 64) {
+                lowAllowed |= 1L << c;
+            } else {
+                highAllowed |= 1L << (c - 64);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.galegofer.spring.data.querydsl.value.operators;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval of the values of an ordered path, used for coalescing the comparison operators of a multi-value
+ * search. Each bound is optional (unbounded) and either inclusive or exclusive, and keeps the original text of the
+ * value it was built from so that the coalesced expression can be built by the operator implementations.
+ */
+final class ValueRange {
+
+    private static final Comparator<ValueRange> BY_LOWER_BOUND = (left, right) -> {
+        if (left.lower == null || right.lower == null) {
+            return left.lower == null
+                ? (right.lower == null ? 0 : -1)
+                : 1;
+        }
+        final var result = compare(left.lower.value(), right.lower.value());
+        return result != 0
+            ? result
+            : Boolean.compare(right.lower.inclusive(), left.lower.inclusive());
+    };
+
+    private final Bound lower;
+    private final Bound upper;
+
+    private ValueRange(Bound lower, Bound upper) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * @param operator comparison operator, one of {@link Operator#EQUAL}, {@link Operator#GREATER_THAN},
+     *                 {@link Operator#GREATER_THAN_OR_EQUAL}, {@link Operator#LESS_THAN} or
+     *                 {@link Operator#LESS_THAN_OR_EQUAL}
+     * @param value    value compared with
+     * @param text     original text of the value
+     * @return range of values satisfying the comparison
+     */
+    static ValueRange of(Operator operator, Comparable<?> value, String text) {
+        return switch (operator) {
+            case EQUAL -> new ValueRange(new Bound(value, true, text), new Bound(value, true, text));
+            case GREATER_THAN -> new ValueRange(new Bound(value, false, text), null);
+            case GREATER_THAN_OR_EQUAL -> new ValueRange(new Bound(value, true, text), null);
+            case LESS_THAN -> new ValueRange(null, new Bound(value, false, text));
+            case LESS_THAN_OR_EQUAL -> new ValueRange(null, new Bound(value, true, text));
+            default -> throw new IllegalArgumentException("Not a comparison operator: " + operator);
+        };
+    }
+
+    /**
+     * @return lower bound, <code>null</code> if unbounded
+     */
+    Bound getLower() {
+        return lower;
+    }
+
+    /**
+     * @return upper bound, <code>null</code> if unbounded
+     */
+    Bound getUpper() {
+        return upper;
+    }
+
+    /**
+     * @return if this range contains no value at all
+     */
+    boolean isEmpty() {
+        if (lower == null || upper == null) {
+            return false;
+        }
+        final var result = compare(lower.value(), upper.value());
+        return result > 0 || (result == 0 && !(lower.inclusive() && upper.inclusive()));
+    }
+
+    /**
+     * @return if this range contains every value
+     */
+    boolean isUnbounded() {
+        return lower == null && upper == null;
+    }
+
+    /**
+     * @return if this range contains a single value
+     */
+    boolean isSingleValue() {
+        return lower != null && upper != null && lower.inclusive() && upper.inclusive()
+            && compare(lower.value(), upper.value()) == 0;
+    }
+
+    /**
+     * @param other range to intersect with
+     * @return range of the values contained by both this and supplied range, which may be empty
+     */
+    ValueRange intersect(ValueRange other) {
+        return new ValueRange(tighter(lower, other.lower, 1), tighter(upper, other.upper, -1));
+    }
+
+    /**
+     * @param ranges ranges to unite
+     * @return smallest list of disjoint ranges, ordered by lower bound, containing all values of supplied ranges
+     */
+    static List<ValueRange> union(List<ValueRange> ranges) {
+        final var sorted = new ArrayList<>(ranges);
+        sorted.sort(BY_LOWER_BOUND);
+
+        final var result = new ArrayList<ValueRange>(sorted.size());
+        var current = sorted.get(0);
+        for (var i = 1; i < sorted.size(); i++) {
+            final var next = sorted.get(i);
+            if (current.overlapsOrTouches(next)) {
+                current = new ValueRange(current.lower, looser(current.upper, next.upper));
+            } else {
+                result.add(current);
+                current = next;
+            }
+        }
+        result.add(current);
+        return result;
+    }
+
+    /**
+     * @param next range whose lower bound isn't lower than the lower bound of this range
+     */
+    private boolean overlapsOrTouches(ValueRange next) {
+        if (upper == null || next.lower == null) {
+            return true;
+        }
+        final var result = compare(upper.value(), next.lower.value());
+        return result > 0 || (result == 0 && (upper.inclusive() || next.lower.inclusive()));
+    }
+
+    /**
+     * @param direction <code>1</code> if the greater bound is tighter (lower bounds), <code>-1</code> otherwise
+     */
+    private static Bound tighter(Bound left, Bound right, int direction) {
+        if (left == null || right == null) {
+            return left == null ? right : left;
+        }
+        final var result = compare(left.value(), right.value()) * direction;
+        if (result != 0) {
+            return result > 0 ? left : right;
+        }
+        return left.inclusive() ? right : left;
+    }
+
+    private static Bound looser(Bound left, Bound right) {
+        if (left == null || right == null) {
+            return null;
+        }
+        final var result = compare(left.value(), right.value());
+        if (result != 0) {
+            return result > 0 ? left : right;
+        }
+        return left.inclusive() ? left : right;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Comparable left, Comparable right) {
+        return left.compareTo(right);
+    }
+
+    /**
+     * Bound of a range.
+     *
+     * @param value     value of the bound
+     * @param inclusive if the value itself is within the range
+     * @param text      original text of the value
+     */
+    record Bound(Comparable<?> value, boolean inclusive, String text) {
+    }
+}
@@ -2,97 +2,149 @@ package org.galegofer.spring.data.querydsl.value.operators.experimental;
 
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Path;
-import org.galegofer.spring.data.querydsl.value.operators.ExpressionProvider;
 import org.galegofer.spring.data.querydsl.value.operators.ExpressionProviderFactory;
-import org.galegofer.spring.data.querydsl.value.operators.Operator;
-import org.galegofer.spring.data.querydsl.value.operators.OperatorAndValue;
+import org.galegofer.spring.data.querydsl.value.operators.OperatorValueParser;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.MultiValueMap;
 
 import java.lang.reflect.Array;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public final class QuerydslHttpRequestContext {
 
+    private static final String[] NO_VALUES = new String[0];
+
     private final EntityPath<?> root;
     private final HttpServletRequest servletRequest;
-    private final Map<String, Collection<String>> originalParameters = new LinkedHashMap<>();
-    private final Map<String, Collection<String>> transformedParameters;
+    // original values by parameter name, and names of all parameters in request order
+    private final Function<String, String[]> parameterValues;
+    private final Supplier<Collection<String>> parameterNames;
+    // parameter values devoid of value operators, transformed on first use and shared for the rest of the request
+    private final Map<String, String[]> transformedParameters = new ConcurrentHashMap<>();
+    private volatile Map<String, String[]> transformedParameterMap;
+    // charged concurrently when the context is shared with worker threads
+    private final AtomicLong cost = new AtomicLong();
 
     public QuerydslHttpRequestContext(EntityPath<?> root, HttpServletRequest servletRequest) {
         Validate.notNull(root, "EntityPath must not be null");
         Validate.notNull(servletRequest, "HttpServletRequest must not be null");
         this.root = root;
         this.servletRequest = servletRequest;
+        this.parameterValues = servletRequest::getParameterValues;
+        this.parameterNames = () -> servletRequest.getParameterMap()
+            .keySet();
+    }
 
-        this.servletRequest.getParameterMap()
-            .keySet()
-            .forEach(k -> originalParameters.put(String.valueOf(k),
-                List.of(this.servletRequest.getParameterValues(String.valueOf(k)))));
-
-        transformedParameters = this.originalParameters.keySet()
-            .stream()
-            .collect(Collectors.toMap(key -> key, key -> originalParameters.get(key)
-                .stream()
-                .map(this::extractTrueValue)
-                .collect(Collectors.toList()), (e1, e2) -> e1, LinkedHashMap::new));
+    /**
+     * Creates a context of a request without Servlet API, for e.g. of a WebFlux request.
+     *
+     * @param root       entity root of the search request
+     * @param parameters query parameters of the request
+     */
+    public QuerydslHttpRequestContext(EntityPath<?> root, MultiValueMap<String, String> parameters) {
+        Validate.notNull(root, "EntityPath must not be null");
+        Validate.notNull(parameters, "Parameters must not be null");
+        this.root = root;
+        this.servletRequest = null;
+        this.parameterValues = name -> {
+            final var values = parameters.get(name);
+            return values != null
+                ? values.toArray(NO_VALUES)
+                : null;
+        };
+        this.parameterNames = parameters::keySet;
     }
 
     /**
      * @return decorated {@link HttpServletRequest} object containing search
-     * request parameters devoid of any value operators.
+     * request parameters devoid of any value operators. Values of a parameter are transformed once, on first use,
+     * and the returned arrays and map are shared by all callers hence must not be modified.
      */
     HttpServletRequest getWrappedHttpServletRequest() {
-        if (CollectionUtils.isEmpty(transformedParameters)) {
-            return getOriginalHttpServletRequest();
+        Validate.validState(this.servletRequest != null, "Context wasn't created from a HttpServletRequest");
+        return wrap(this.servletRequest);
+    }
+
+    /**
+     * @param request {@link HttpServletRequest} of a later dispatch of the request of this context, for e.g. of an
+     *                async dispatch
+     * @return supplied request decorated with search request parameters devoid of any value operators, see
+     * {@link #getWrappedHttpServletRequest()}
+     */
+    HttpServletRequest wrap(HttpServletRequest request) {
+        if (CollectionUtils.isEmpty(request.getParameterMap())) {
+            return request;
         }
 
-        return new HttpServletRequestWrapper(this.servletRequest) {
+        return new HttpServletRequestWrapper(request) {
             @Override
             public String getParameter(String name) {
-                final var values = getParameterValuesAsList(name);
+                final var values = getTransformedValues(name);
 
-                return (!CollectionUtils.isEmpty(values))
-                    ? values.iterator()
-                    .next()
+                return values.length > 0
+                    ? values[0]
                     : super.getParameter(name);
             }
 
             @Override
             public Map<String, String[]> getParameterMap() {
-                return transformedParameters.keySet()
-                    .stream()
-                    .collect(Collectors.toMap(key -> key, key -> transformedParameters.get(key)
-                            .toArray(new String[0]),
-                        (e1, e2) -> e1, LinkedHashMap::new));
+                return getTransformedParameterMap();
             }
 
             @Override
             public String[] getParameterValues(String name) {
-                final var values = getParameterValuesAsList(name);
-                return values.toArray(new String[0]);
+                return getTransformedValues(name);
             }
+        };
+    }
 
-            private Collection<String> getParameterValuesAsList(String name) {
-                Validate.notNull(name, "Parameter name must not be blank");
-                final var result = transformedParameters.get(name);
-                return result != null ? result : new ArrayList<>(0);
+    /**
+     * @return parameter values devoid of any value operators by parameter name, in request order, shared by all callers
+     * hence must not be modified
+     */
+    Map<String, String[]> getTransformedParameterMap() {
+        var result = transformedParameterMap;
+        if (result == null) {
+            final var map = new LinkedHashMap<String, String[]>();
+            for (String name : this.parameterNames.get()) {
+                map.put(name, getTransformedValues(name));
             }
-        };
+            result = Collections.unmodifiableMap(map);
+            transformedParameterMap = result;
+        }
+        return result;
     }
 
     /**
      * @return original {@link HttpServletRequest} containing inputs from client
-     * request.
+     * request, <code>null</code> if the context wasn't created from a {@link HttpServletRequest}
      */
     HttpServletRequest getOriginalHttpServletRequest() {
         return this.servletRequest;
     }
 
+    /**
+     * @param parameterName name of a request parameter
+     * @return original values of the parameter, including value operators, <code>null</code> if it isn't part of the
+     * request
+     */
+    public String[] getOriginalValues(String parameterName) {
+        return parameterName != null
+            ? this.parameterValues.apply(parameterName)
+            : null;
+    }
+
     /**
      * @param inPath {@link Path} for which original search request single value is
      *               required.
@@ -100,12 +152,21 @@ public final class QuerydslHttpRequestContext {
      * {@link Path} if available, <code>null</code> otherwise
      */
     public String getSingleValue(Path inPath) {
-        return Optional.ofNullable(Optional.ofNullable(inPath)
-                .map(p -> this.servletRequest.getParameter(findRequestParameterNameFromPath(inPath)))
-                .orElseGet(() -> this.servletRequest.getParameter(inPath.toString())))
-            .orElseGet(() -> ExpressionProviderFactory.findAlias(inPath)
-                .map(this.servletRequest::getParameter)
-                .orElse(null));
+        if (inPath == null) {
+            return null;
+        }
+
+        final var index = ExpressionProviderFactory.getPathAliasIndex();
+        var result = getParameter(index.getRequestParameterName(this.root, inPath));
+        if (result == null) {
+            result = getParameter(inPath.toString());
+        }
+        if (result == null) {
+            result = index.findAlias(inPath)
+                .map(this::getParameter)
+                .orElse(null);
+        }
+        return result;
     }
 
     /**
@@ -116,31 +177,67 @@ public final class QuerydslHttpRequestContext {
      * <code>null</code> otherwise
      */
     public String[] getAllValues(Path inPath) {
-        return Optional.ofNullable(Optional.ofNullable(inPath)
-                .map(p -> this.servletRequest.getParameterValues(findRequestParameterNameFromPath(inPath)))
-                .orElseGet(() -> this.servletRequest.getParameterValues(inPath.toString())))
-            .orElseGet(() -> ExpressionProviderFactory.findAlias(inPath)
-                .map(this.servletRequest::getParameterValues)
-                .orElse(null));
+        if (inPath == null) {
+            return null;
+        }
+
+        final var index = ExpressionProviderFactory.getPathAliasIndex();
+        var result = this.parameterValues.apply(index.getRequestParameterName(this.root, inPath));
+        if (result == null) {
+            result = this.parameterValues.apply(inPath.toString());
+        }
+        if (result == null) {
+            result = index.findAlias(inPath)
+                .map(this.parameterValues)
+                .orElse(null);
+        }
+        return result;
     }
 
-    private String findRequestParameterNameFromPath(Path inPath) {
-        Validate.notNull(inPath, "Input path must not be null to lookup original request parameter value");
-        Validate.isTrue(inPath.getRoot()
-            .getType()
-            .equals(this.root.getType()), "Mismatch in type root in path and current context");
+    /**
+     * @return accumulated cost of the searches built for this request so far, as computed by
+     * {@link org.galegofer.spring.data.querydsl.value.operators.QueryCostModel}
+     */
+    public long getCost() {
+        return cost.get();
+    }
 
-        return StringUtils.replace(inPath.toString(), this.root + ".", StringUtils.EMPTY, 1);
+    /**
+     * @param searchCost cost of a search built for this request
+     * @return accumulated cost of the searches built for this request, including supplied cost
+     */
+    public long addCost(long searchCost) {
+        return cost.addAndGet(searchCost);
     }
 
-    private String extractTrueValue(String input) {
-        if (StringUtils.isNotBlank(input)) {
-            while (true) {
-                return ExpressionProvider.isOperator(input).isPresent()
-                    ? extractTrueValue(new OperatorAndValue(input, List.of(Operator.values()), null).getValue())
-                    : input;
+    private String getParameter(String name) {
+        final var values = this.parameterValues.apply(name);
+        return values != null && values.length > 0
+            ? values[0]
+            : null;
+    }
+
+    private String[] getTransformedValues(String name) {
+        Validate.notNull(name, "Parameter name must not be blank");
+        return transformedParameters.computeIfAbsent(name, key -> {
+            final var values = this.parameterValues.apply(key);
+            if (values == null) {
+                return NO_VALUES;
             }
-        }
-        return StringUtils.EMPTY;
+
+            final var result = new String[values.length];
+            for (var i = 0; i < values.length; i++) {
+                result[i] = extractTrueValue(values[i]);
+            }
+            return result;
+        });
+    }
+
+    private String extractTrueValue(String input) {
+        return StringUtils.isNotBlank(input)
+            ? OperatorValueParser.parse(input)
+            .getLiteral()
+            .getText()
+            : StringUtils.EMPTY;
     }
 }
@@ -1,8 +1,5 @@
 package org.galegofer.spring.data.querydsl.value.operators.experimental;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.querydsl.core.types.EntityPath;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,41 +8,39 @@ import org.springframework.data.querydsl.EntityPathResolver;
 import org.springframework.data.querydsl.SimpleEntityPathResolver;
 
 import java.io.IOException;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.concurrent.ExecutionException;
 
 @Slf4j
 public class QuerydslHttpRequestContextAwareServletFilter implements Filter {
     private static final EntityPathResolver entityPathResolver = SimpleEntityPathResolver.INSTANCE;
 
-    private final Map<String, Class<?>> URI_SEARCH_RESOURCE_TYPE_MAPPINGS = new TreeMap((Comparator<String>) (s1, s2) -> {
-        if (s1.length() > s2.length()) {
-            return -1;
-        } else if (s1.length() < s2.length()) {
-            return 1;
-        }
+    /**
+     * Name of the request attribute holding the {@link QuerydslHttpRequestContext} of a search until its request
+     * completes, so that async dispatches (for e.g. of <code>Callable</code>, <code>DeferredResult</code> or
+     * <code>CompletableFuture</code> handler results) are processed with the context of the search.
+     */
+    public static final String CONTEXT_ATTRIBUTE = QuerydslHttpRequestContext.class.getName();
 
-        return s1.compareTo(s2);
-    });
+    private final SearchRouteTable<EntityPath<?>> routes;
 
-    private final LoadingCache<Class<?>, EntityPath<?>> loadingCache = CacheBuilder.newBuilder()
-        .build(new CacheLoader<>() {
-            @Override
-            public EntityPath<?> load(Class<?> domainClass) {
-                return entityPathResolver.createPath(domainClass);
-            }
-        });
+    private final RouteMissLog missLog = new RouteMissLog(log);
 
+    /**
+     * @param URI_SEARCH_RESOURCE_TYPE_MAPPINGS domain types by search URI, where a URI can be exact (matched ignoring
+     *                                          case) or a {@link org.springframework.web.util.pattern.PathPattern}
+     *                                          with wildcards or templates, for e.g. <code>/users/**</code>; URIs are
+     *                                          matched without the context path, or else including it
+     */
     public QuerydslHttpRequestContextAwareServletFilter(Map<String, Class<?>> URI_SEARCH_RESOURCE_TYPE_MAPPINGS) {
-        if (URI_SEARCH_RESOURCE_TYPE_MAPPINGS != null) {
-            this.URI_SEARCH_RESOURCE_TYPE_MAPPINGS.putAll(URI_SEARCH_RESOURCE_TYPE_MAPPINGS);
-        }
-
+        final var paths = new HashMap<String, EntityPath<?>>();
         try {
-            loadingCache.getAll(this.URI_SEARCH_RESOURCE_TYPE_MAPPINGS.values());
-        } catch (ExecutionException ex) {
+            if (URI_SEARCH_RESOURCE_TYPE_MAPPINGS != null) {
+                URI_SEARCH_RESOURCE_TYPE_MAPPINGS.forEach((uri, domainClass) -> paths.put(uri,
+                    entityPathResolver.createPath(domainClass)));
+            }
+            this.routes = new SearchRouteTable<>(paths);
+        } catch (RuntimeException ex) {
             throw new RuntimeException("Failed to instantiate filter, possible mis-configurations?", ex);
         }
     }
@@ -58,42 +53,88 @@ public class QuerydslHttpRequestContextAwareServletFilter implements Filter {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
         throws IOException, ServletException {
 
-        try {
-            final var req = (HttpServletRequest) request;
-            final var requestURI = req.getRequestURI();
-
-            final var optionalPath = URI_SEARCH_RESOURCE_TYPE_MAPPINGS.keySet()
-                .stream()
-                .filter(resourceMapping -> resourceMapping.equalsIgnoreCase(requestURI))
-                .findFirst()
-                .map(URI_SEARCH_RESOURCE_TYPE_MAPPINGS::get)
-                .map(resourceMapping -> {
-                    try {
-                        return loadingCache.get(resourceMapping);
-                    } catch (Exception ex) {
-                        throw new RuntimeException("Failed to load Path for " + "request uri: " + requestURI);
-                    }
-                });
-
-            if (optionalPath.isPresent()) {
-                log.debug("Processing {} on URI: {} for EntityPath: {}",
-                    QuerydslHttpRequestContext.class, requestURI, optionalPath.get()
-                        .getClass()
-                        .getCanonicalName());
-                final var context = new QuerydslHttpRequestContext(optionalPath.get(), req);
-                QuerydslHttpRequestContextHolder.setContext(context);
-                chain.doFilter(context.getWrappedHttpServletRequest(), response);
-            } else {
-                log.error(
-                    "No EntityPath found on requestURI: {}, bad filter configurations (check filter url pattern and also the injected mappings), filter is turning into a no-op for this request",
-                    requestURI);
-                chain.doFilter(req, response);
+        final var req = (HttpServletRequest) request;
+        if (req.getDispatcherType() == DispatcherType.ASYNC
+            && req.getAttribute(CONTEXT_ATTRIBUTE) instanceof QuerydslHttpRequestContext context) {
+            // async dispatches of a search resume on another container thread, with the context of the search
+            doFilter(context, context.wrap(req), response, chain);
+            if (req.isAsyncStarted()) {
+                releaseOnComplete(req);
+            }
+            return;
+        }
+
+        final var path = routes.find(req);
+        if (path != null) {
+            log.debug("Processing {} on URI: {} for EntityPath: {}",
+                QuerydslHttpRequestContext.class, req.getRequestURI(), path.getClass()
+                    .getCanonicalName());
+            final var context = new QuerydslHttpRequestContext(path, req);
+            final var previous = req.getAttribute(CONTEXT_ATTRIBUTE);
+            req.setAttribute(CONTEXT_ATTRIBUTE, context);
+            var asyncStarted = false;
+            try {
+                doFilter(context, context.getWrappedHttpServletRequest(), response, chain);
+                asyncStarted = req.isAsyncStarted();
+            } finally {
+                if (asyncStarted) {
+                    releaseOnComplete(req);
+                } else if (previous != null) {
+                    // nested dispatch
+                    req.setAttribute(CONTEXT_ATTRIBUTE, previous);
+                } else {
+                    req.removeAttribute(CONTEXT_ATTRIBUTE);
+                }
             }
-        } finally {
-            QuerydslHttpRequestContextHolder.clearContext();
+        } else {
+            missLog.log(req.getRequestURI());
+            chain.doFilter(req, response);
         }
     }
 
+    private static void doFilter(QuerydslHttpRequestContext context, HttpServletRequest request,
+                                 ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        try {
+            // the context is bound for the dynamic extent of the chain only, nested dispatches restore it
+            QuerydslHttpRequestContextHolder.callWithContext(context, () -> {
+                chain.doFilter(request, response);
+                return null;
+            });
+        } catch (IOException | ServletException | RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new ServletException(ex);
+        }
+    }
+
+    /**
+     * Releases the context of an async search once its request completes. Listeners are registered again on every
+     * dispatch restarting async processing, since containers discard them when async processing restarts.
+     */
+    private static void releaseOnComplete(ServletRequest request) {
+        request.getAsyncContext()
+            .addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    request.removeAttribute(CONTEXT_ATTRIBUTE);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    // the context is still needed by the dispatch handling the timeout
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    // the context is still needed by the dispatch handling the error
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+    }
+
     @Override
     public void destroy() {
     }
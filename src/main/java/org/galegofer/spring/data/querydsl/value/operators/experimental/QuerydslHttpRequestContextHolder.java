@@ -1,5 +1,6 @@
 package org.galegofer.spring.data.querydsl.value.operators.experimental;
 
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContextHolderStrategy.ScopedCall;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -17,6 +18,12 @@ public final class QuerydslHttpRequestContextHolder {
      */
     public static final String MODE_INHERITABLETHREADLOCAL = "MODE_INHERITABLETHREADLOCAL";
 
+    /**
+     * <code>java.lang.ScopedValue</code> based QuerydslHttpRequestContextHolderStrategy to be used, falling back to
+     * {@link ThreadLocal} where <code>ScopedValue</code> is unavailable.
+     */
+    public static final String MODE_SCOPED_VALUE = "MODE_SCOPED_VALUE";
+
     public static final String SYSTEM_PROPERTY = "querydsl.experimental.operator.web.context.strategy";
     private static String strategyName = System.getProperty(SYSTEM_PROPERTY);
     private static QuerydslHttpRequestContextHolderStrategy strategy;
@@ -54,6 +61,7 @@ public final class QuerydslHttpRequestContextHolder {
         return switch (strategyName) {
             case MODE_THREADLOCAL -> new ThreadLocalQuerydslHttpRequestContextHolderStrategy(false);
             case MODE_INHERITABLETHREADLOCAL -> new ThreadLocalQuerydslHttpRequestContextHolderStrategy(true);
+            case MODE_SCOPED_VALUE -> new ScopedValueQuerydslHttpRequestContextHolderStrategy();
             default -> {
                 try {
                     final var clazz = Class.forName(strategyName);
@@ -77,4 +85,18 @@ public final class QuerydslHttpRequestContextHolder {
     public static void setContext(QuerydslHttpRequestContext context) {
         strategy.setContext(context);
     }
+
+    /**
+     * Runs an action with a <code>QuerydslHttpRequestContext</code> bound for its dynamic extent, restoring the
+     * previous context afterwards.
+     *
+     * @param context the <code>QuerydslHttpRequestContext</code> to bind (may not be <code>null</code>)
+     * @param action  action to run with supplied context bound
+     * @return the result of supplied action
+     * @throws X if supplied action fails
+     */
+    public static <T, X extends Exception> T callWithContext(QuerydslHttpRequestContext context,
+                                                             ScopedCall<T, X> action) throws X {
+        return strategy.callWithContext(context, action);
+    }
 }
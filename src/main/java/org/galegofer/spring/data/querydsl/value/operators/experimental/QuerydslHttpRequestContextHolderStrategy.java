@@ -31,4 +31,41 @@ public interface QuerydslHttpRequestContextHolderStrategy {
      *                in such cases)
      */
     void setContext(QuerydslHttpRequestContext context);
+
+    /**
+     * Binds a context for the dynamic extent of an action, i.e. the context is the current context only while supplied
+     * action runs and the previous context, if any, is current again afterwards, even if the action fails. This default
+     * implementation sets and restores the context of the current thread.
+     *
+     * @param context the context to bind (should never be <code>null</code>)
+     * @param action  action to run with supplied context bound
+     * @return the result of supplied action
+     * @throws X if supplied action fails
+     */
+    default <T, X extends Exception> T callWithContext(QuerydslHttpRequestContext context,
+                                                       ScopedCall<T, X> action) throws X {
+        final var previous = getContext();
+        setContext(context);
+        try {
+            return action.call();
+        } finally {
+            if (previous != null) {
+                setContext(previous);
+            } else {
+                clearContext();
+            }
+        }
+    }
+
+    /**
+     * Action run with a context bound, see {@link #callWithContext(QuerydslHttpRequestContext, ScopedCall)}.
+     *
+     * @param <T> type of result
+     * @param <X> type of failure
+     */
+    @FunctionalInterface
+    interface ScopedCall<T, X extends Exception> {
+
+        T call() throws X;
+    }
 }
@@ -0,0 +1,48 @@
+package org.galegofer.spring.data.querydsl.value.operators.experimental;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * {@link TaskDecorator} propagating the {@link QuerydslHttpRequestContext} of the submitting thread to tasks run on
+ * worker threads, for e.g. when a search service fans repository calls out to a thread pool, for e.g.:
+ * <pre>
+ * ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+ * executor.setTaskDecorator(new QuerydslHttpRequestContextTaskDecorator());
+ * </pre>
+ * <p>
+ * The context is captured when a task is decorated, i.e. on submission, and is bound on the worker thread only for the
+ * dynamic extent of the task (see {@link QuerydslHttpRequestContextHolder#callWithContext}). Tasks submitted without a
+ * context run without one. Either way, the previous context of the worker thread is restored afterwards, hence pooled
+ * threads never leak the context of a task to the next one, unlike {@link InheritableThreadLocal} contexts (see
+ * {@link QuerydslHttpRequestContextHolder#MODE_INHERITABLETHREADLOCAL}) which are captured only when a pooled thread
+ * is created.
+ * </p>
+ */
+public class QuerydslHttpRequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        final var context = QuerydslHttpRequestContextHolder.getContext();
+        if (context != null) {
+            return () -> QuerydslHttpRequestContextHolder.callWithContext(context, () -> {
+                runnable.run();
+                return null;
+            });
+        }
+
+        return () -> {
+            final var previous = QuerydslHttpRequestContextHolder.getContext();
+            if (previous == null) {
+                runnable.run();
+                return;
+            }
+
+            QuerydslHttpRequestContextHolder.clearContext();
+            try {
+                runnable.run();
+            } finally {
+                QuerydslHttpRequestContextHolder.setContext(previous);
+            }
+        };
+    }
+}
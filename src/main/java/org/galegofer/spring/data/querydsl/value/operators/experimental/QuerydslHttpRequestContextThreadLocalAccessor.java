@@ -0,0 +1,43 @@
+package org.galegofer.spring.data.querydsl.value.operators.experimental;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+/**
+ * Micrometer context-propagation {@link ThreadLocalAccessor} of the {@link QuerydslHttpRequestContext} held by
+ * {@link QuerydslHttpRequestContextHolder}, registered with <code>io.micrometer.context.ContextRegistry</code> through
+ * {@link java.util.ServiceLoader}, so that context snapshots (for e.g. of Spring's
+ * <code>ContextPropagatingTaskDecorator</code> or of <code>ContextExecutorService</code>) capture and restore it.
+ * <p>
+ * Its key is the key of the context in Reactor contexts (see
+ * {@link ReactiveQuerydslHttpRequestContextHolder#CONTEXT_KEY}), hence with automatic context propagation of Reactor
+ * enabled, the context stored by {@link QuerydslHttpRequestContextWebFilter} is also restored to
+ * {@link QuerydslHttpRequestContextHolder} around reactive operators.
+ * </p>
+ */
+public class QuerydslHttpRequestContextThreadLocalAccessor implements ThreadLocalAccessor<QuerydslHttpRequestContext> {
+
+    /**
+     * Key of the accessor, same as {@link ReactiveQuerydslHttpRequestContextHolder#CONTEXT_KEY}.
+     */
+    public static final Object KEY = QuerydslHttpRequestContext.class;
+
+    @Override
+    public Object key() {
+        return KEY;
+    }
+
+    @Override
+    public QuerydslHttpRequestContext getValue() {
+        return QuerydslHttpRequestContextHolder.getContext();
+    }
+
+    @Override
+    public void setValue(QuerydslHttpRequestContext value) {
+        QuerydslHttpRequestContextHolder.setContext(value);
+    }
+
+    @Override
+    public void setValue() {
+        QuerydslHttpRequestContextHolder.clearContext();
+    }
+}
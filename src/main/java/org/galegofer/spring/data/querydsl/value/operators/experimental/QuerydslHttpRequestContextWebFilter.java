@@ -0,0 +1,118 @@
+package org.galegofer.spring.data.querydsl.value.operators.experimental;
+
+import com.querydsl.core.types.EntityPath;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.querydsl.EntityPathResolver;
+import org.springframework.data.querydsl.SimpleEntityPathResolver;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of {@link QuerydslHttpRequestContextAwareServletFilter}: for requests matching a search URI
+ * mapping, it stores the {@link QuerydslHttpRequestContext} of the request in the Reactor
+ * {@link reactor.util.context.Context} of the request, from which {@link ReactiveQuerydslHttpRequestContextHolder}
+ * makes it available to searches.
+ * <p>
+ * The context is also bound to {@link QuerydslHttpRequestContextHolder} while the rest of the chain is subscribed to,
+ * i.e. while WebFlux maps the request and resolves handler arguments which don't need the request body, such as
+ * <code>&#64;QuerydslPredicate</code> arguments. Query parameters are devoid of value operators only where this
+ * binding is current, hence bindings of such arguments reach the original values through expression providers. Query
+ * parameters read anywhere else, for e.g. by an argument resolved after a thread hop, keep their value operators:
+ * string paths parse them as usual while other paths fail to convert them, rather than silently searching by equality.
+ * </p>
+ */
+@Slf4j
+public class QuerydslHttpRequestContextWebFilter implements WebFilter {
+
+    private static final EntityPathResolver entityPathResolver = SimpleEntityPathResolver.INSTANCE;
+
+    private final SearchRouteTable<EntityPath<?>> routes;
+
+    private final RouteMissLog missLog = new RouteMissLog(log);
+
+    /**
+     * @param uriSearchResourceTypeMappings domain types by search URI, see
+     *                                      {@link QuerydslHttpRequestContextAwareServletFilter}
+     */
+    public QuerydslHttpRequestContextWebFilter(Map<String, Class<?>> uriSearchResourceTypeMappings) {
+        final var paths = new HashMap<String, EntityPath<?>>();
+        try {
+            if (uriSearchResourceTypeMappings != null) {
+                uriSearchResourceTypeMappings.forEach((uri, domainClass) -> paths.put(uri,
+                    entityPathResolver.createPath(domainClass)));
+            }
+            this.routes = new SearchRouteTable<>(paths);
+        } catch (RuntimeException ex) {
+            throw new RuntimeException("Failed to instantiate filter, possible mis-configurations?", ex);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final var request = exchange.getRequest();
+        final var path = routes.find(request.getPath());
+        if (path == null) {
+            missLog.log(request.getPath()
+                .value());
+            return chain.filter(exchange);
+        }
+
+        log.debug("Processing {} on URI: {} for EntityPath: {}", QuerydslHttpRequestContext.class,
+            request.getPath(), path.getClass()
+                .getCanonicalName());
+        final var context = new QuerydslHttpRequestContext(path, request.getQueryParams());
+        final var transformed = new LinkedMultiValueMap<String, String>();
+        context.getTransformedParameterMap()
+            .forEach((name, values) -> transformed.put(name, Arrays.asList(values)));
+        final MultiValueMap<String, String> queryParams = CollectionUtils.unmodifiableMultiValueMap(transformed);
+
+        final var decorated = new ServerHttpRequestDecorator(request) {
+            @Override
+            public MultiValueMap<String, String> getQueryParams() {
+                // values devoid of operators only where expression providers can reach the original ones
+                return QuerydslHttpRequestContextHolder.getContext() == context
+                    ? queryParams
+                    : super.getQueryParams();
+            }
+        };
+        final var mutated = exchange.mutate()
+            .request(decorated)
+            .build();
+        return new ContextBindingMono(Mono.defer(() -> chain.filter(mutated))
+            .contextWrite(ReactiveQuerydslHttpRequestContextHolder.withContext(context)), context);
+    }
+
+    /**
+     * Binds a context to {@link QuerydslHttpRequestContextHolder} for the duration of the subscription to its source,
+     * i.e. for the processing done synchronously on the subscribing thread.
+     */
+    private static final class ContextBindingMono extends MonoOperator<Void, Void> {
+
+        private final QuerydslHttpRequestContext context;
+
+        private ContextBindingMono(Mono<Void> source, QuerydslHttpRequestContext context) {
+            super(source);
+            this.context = context;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super Void> actual) {
+            QuerydslHttpRequestContextHolder.callWithContext(context, () -> {
+                source.subscribe(actual);
+                return null;
+            });
+        }
+    }
+}
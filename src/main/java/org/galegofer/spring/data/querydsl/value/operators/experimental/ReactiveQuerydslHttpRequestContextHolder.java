@@ -0,0 +1,71 @@
+package org.galegofer.spring.data.querydsl.value.operators.experimental;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Holder of the {@link QuerydslHttpRequestContext} of a reactive (for e.g. WebFlux) request, stored in the Reactor
+ * {@link Context} of the request by {@link QuerydslHttpRequestContextWebFilter} rather than in a {@link ThreadLocal},
+ * since a reactive request hops across threads.
+ * <p>
+ * Searches are built synchronously, hence the context is made available to them (for e.g. to
+ * {@link org.galegofer.spring.data.querydsl.value.operators.ExpressionProviderFactory#getPredicate}) through
+ * {@link QuerydslHttpRequestContextHolder} only for the duration of {@link #withContext(Supplier)}, on the thread it
+ * runs on, and the previous context of the thread is restored afterwards, for e.g.:
+ * </p>
+ * <pre>
+ * &#64;GetMapping("/users/search")
+ * public Flux&lt;User&gt; search(&#64;RequestParam("employeeId") List&lt;String&gt; values) {
+ *     return ReactiveQuerydslHttpRequestContextHolder
+ *         .withContext(() -&gt; ExpressionProviderFactory.getPredicate(QUser.user.employeeId, values).orElse(null))
+ *         .flatMapMany(repository::findAll);
+ * }
+ * </pre>
+ */
+public final class ReactiveQuerydslHttpRequestContextHolder {
+
+    /**
+     * Key of {@link QuerydslHttpRequestContext} in Reactor {@link Context}.
+     */
+    public static final Class<QuerydslHttpRequestContext> CONTEXT_KEY = QuerydslHttpRequestContext.class;
+
+    private ReactiveQuerydslHttpRequestContextHolder() {
+    }
+
+    /**
+     * @return {@link Mono} of the context of the current request, empty if none
+     */
+    public static Mono<QuerydslHttpRequestContext> getContext() {
+        return Mono.deferContextual(view -> Mono.justOrEmpty(view.getOrEmpty(CONTEXT_KEY)));
+    }
+
+    /**
+     * @param context {@link QuerydslHttpRequestContext} of the request
+     * @return function writing supplied context to a Reactor {@link Context}, see {@link Mono#contextWrite}
+     */
+    public static Function<Context, Context> withContext(QuerydslHttpRequestContext context) {
+        return ctx -> ctx.put(CONTEXT_KEY, context);
+    }
+
+    /**
+     * @param supplier synchronously computes a value, for e.g. builds a search predicate
+     * @return {@link Mono} of supplied value computed with the context of the current request available through
+     * {@link QuerydslHttpRequestContextHolder}, empty if supplied value is <code>null</code>
+     */
+    public static <T> Mono<T> withContext(Supplier<? extends T> supplier) {
+        return Mono.deferContextual(view -> Mono.justOrEmpty(get(view, supplier)));
+    }
+
+    private static <T> T get(ContextView view, Supplier<? extends T> supplier) {
+        final QuerydslHttpRequestContext context = view.getOrDefault(CONTEXT_KEY, null);
+        if (context == null) {
+            return supplier.get();
+        }
+
+        return QuerydslHttpRequestContextHolder.callWithContext(context, supplier::get);
+    }
+}
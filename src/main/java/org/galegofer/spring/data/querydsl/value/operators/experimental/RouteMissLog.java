@@ -0,0 +1,35 @@
+package org.galegofer.spring.data.querydsl.value.operators.experimental;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs requests matching no search URI mapping at most once per minute, along with the number of misses not logged
+ * since, so that misses stay cheap on the hot path.
+ */
+final class RouteMissLog {
+
+    private static final long INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger log;
+    private final AtomicLong lastLog = new AtomicLong(System.nanoTime() - INTERVAL_NANOS);
+    private final AtomicLong suppressed = new AtomicLong();
+
+    RouteMissLog(Logger log) {
+        this.log = log;
+    }
+
+    void log(String requestURI) {
+        final var now = System.nanoTime();
+        final var last = lastLog.get();
+        if (now - last < INTERVAL_NANOS || !lastLog.compareAndSet(last, now)) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        log.warn(
+            "No EntityPath found on requestURI: {} ({} more since last reported), bad filter configurations (check filter url pattern and also the injected mappings), filter is turning into a no-op for such requests",
+            requestURI, suppressed.getAndSet(0));
+    }
+}
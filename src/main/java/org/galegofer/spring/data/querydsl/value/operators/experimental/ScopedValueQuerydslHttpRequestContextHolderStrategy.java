@@ -0,0 +1,197 @@
+package org.galegofer.spring.data.querydsl.value.operators.experimental;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * {@link QuerydslHttpRequestContextHolderStrategy} binding contexts to a <code>java.lang.ScopedValue</code> for the
+ * dynamic extent of {@link #callWithContext(QuerydslHttpRequestContext, ScopedCall)}, which suits virtual threads since
+ * a binding is never left behind on a (pooled) thread and costs no per-thread map entry.
+ * <p>
+ * <code>ScopedValue</code> is resolved at runtime (it's a preview API of JDK 21 and later, which requires
+ * <code>--enable-preview</code> before JDK 25), hence this strategy falls back to
+ * {@link ThreadLocalQuerydslHttpRequestContextHolderStrategy} where it's unavailable. Contexts set through
+ * {@link #setContext(QuerydslHttpRequestContext)}, for e.g. when promoting a context to a worker thread, are held by
+ * the fallback outside of any scoped binding. Within a binding, {@link #setContext(QuerydslHttpRequestContext)} and
+ * {@link #clearContext()} override the bound context until the binding ends only, and setting the bound context again
+ * (for e.g. when restoring the context read before a task ran) drops the override, so that the bound context never
+ * outlives its binding on a (pooled) thread.
+ * </p>
+ */
+@Slf4j
+public class ScopedValueQuerydslHttpRequestContextHolderStrategy implements QuerydslHttpRequestContextHolderStrategy {
+
+    private final QuerydslHttpRequestContextHolderStrategy fallback =
+        new ThreadLocalQuerydslHttpRequestContextHolderStrategy(false);
+
+    // context set or cleared within the innermost binding of the current thread, if any
+    private final ThreadLocal<ContextOverride> overrides = new ThreadLocal<>();
+
+    private final Object scopedValue;
+    private final MethodHandle where;
+    private final MethodHandle run;
+    private final MethodHandle isBound;
+    private final MethodHandle get;
+
+    public ScopedValueQuerydslHttpRequestContextHolderStrategy() {
+        this("java.lang.ScopedValue");
+    }
+
+    /**
+     * @param scopedValueClassName name of the class providing the API of <code>java.lang.ScopedValue</code>
+     */
+    ScopedValueQuerydslHttpRequestContextHolderStrategy(String scopedValueClassName) {
+        Object scopedValue = null;
+        MethodHandle where = null;
+        MethodHandle run = null;
+        MethodHandle isBound = null;
+        MethodHandle get = null;
+        try {
+            final var lookup = MethodHandles.publicLookup();
+            final var scopedValueClass = Class.forName(scopedValueClassName);
+            final var carrierClass = Class.forName(scopedValueClassName + "$Carrier");
+
+            scopedValue = lookup.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass))
+                .invoke();
+            where = lookup.findStatic(scopedValueClass, "where",
+                    MethodType.methodType(carrierClass, scopedValueClass, Object.class))
+                .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+            run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class))
+                .asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+            isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class))
+                .asType(MethodType.methodType(boolean.class, Object.class));
+            get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class))
+                .asType(MethodType.methodType(Object.class, Object.class));
+
+            // fails where preview APIs are disabled
+            run.invokeExact(where.invokeExact(scopedValue, (Object) null), (Runnable) () -> {
+            });
+        } catch (Throwable ex) {
+            log.debug("ScopedValue is unavailable, falling back to ThreadLocal: {}", ex.toString());
+            scopedValue = null;
+        }
+        this.scopedValue = scopedValue;
+        this.where = where;
+        this.run = run;
+        this.isBound = isBound;
+        this.get = get;
+    }
+
+    /**
+     * @return <code>true</code> if contexts are bound to a <code>ScopedValue</code>, <code>false</code> if this
+     * strategy falls back to a {@link ThreadLocal}
+     */
+    public boolean isScopedValueSupported() {
+        return scopedValue != null;
+    }
+
+    @Override
+    public void clearContext() {
+        if (getBoundContext() != null) {
+            overrides.set(ContextOverride.NONE);
+        } else {
+            fallback.clearContext();
+        }
+    }
+
+    @Override
+    public QuerydslHttpRequestContext getContext() {
+        final var bound = getBoundContext();
+        if (bound == null) {
+            return fallback.getContext();
+        }
+        final var override = overrides.get();
+        return override != null
+            ? override.context()
+            : bound;
+    }
+
+    @Override
+    public void setContext(QuerydslHttpRequestContext context) {
+        Validate.notNull(context, "Supplied context is null");
+        final var bound = getBoundContext();
+        if (bound == null) {
+            fallback.setContext(context);
+        } else if (context == bound) {
+            overrides.remove();
+        } else {
+            overrides.set(new ContextOverride(context));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, X extends Exception> T callWithContext(QuerydslHttpRequestContext context,
+                                                      ScopedCall<T, X> action) throws X {
+        if (scopedValue == null) {
+            return fallback.callWithContext(context, action);
+        }
+        Validate.notNull(context, "Supplied context is null");
+        Validate.notNull(action, "Supplied action is null");
+
+        final var result = new Object[1];
+        final var failure = new Exception[1];
+        // overrides apply to the binding they were made in only
+        final var override = overrides.get();
+        overrides.remove();
+        try {
+            run.invokeExact(where.invokeExact(scopedValue, (Object) context), (Runnable) () -> {
+                try {
+                    result[0] = action.call();
+                } catch (Exception e) {
+                    failure[0] = e;
+                }
+            });
+        } catch (Throwable ex) {
+            throw rethrow(ex);
+        } finally {
+            if (override != null) {
+                overrides.set(override);
+            } else {
+                overrides.remove();
+            }
+        }
+        if (failure[0] != null) {
+            throw (X) failure[0];
+        }
+        return (T) result[0];
+    }
+
+    /**
+     * @return context bound to the scoped value, <code>null</code> if none is bound
+     */
+    private QuerydslHttpRequestContext getBoundContext() {
+        if (scopedValue == null) {
+            return null;
+        }
+        try {
+            return (boolean) isBound.invokeExact(scopedValue)
+                ? (QuerydslHttpRequestContext) (Object) get.invokeExact(scopedValue)
+                : null;
+        } catch (Throwable ex) {
+            throw rethrow(ex);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable ex) {
+        if (ex instanceof RuntimeException e) {
+            throw e;
+        }
+        if (ex instanceof Error e) {
+            throw e;
+        }
+        throw new IllegalStateException(ex);
+    }
+
+    /**
+     * Context set (or cleared, if <code>null</code>) within a binding, overriding the bound context.
+     */
+    private record ContextOverride(QuerydslHttpRequestContext context) {
+
+        private static final ContextOverride NONE = new ContextOverride(null);
+    }
+}
@@ -0,0 +1,93 @@
+package org.galegofer.spring.data.querydsl.value.operators.experimental;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Route table precompiled from URI patterns, matched case-insensitively against the path of requests within the
+ * application (i.e. without the context path) or else against the whole request URI.
+ * <p>
+ * URIs without pattern syntax are looked up by hash, in time proportional to the length of the path. Wildcard and
+ * templated URIs (for e.g. <code>/users/**</code> or <code>/{resource}/search</code>) are parsed with
+ * {@link PathPatternParser} and matched most specific first, only if no URI matches exactly.
+ * </p>
+ *
+ * @param <T> type of routed values
+ */
+final class SearchRouteTable<T> {
+
+    private final Map<String, T> exactRoutes = new HashMap<>();
+    private final List<Map.Entry<PathPattern, T>> patternRoutes = new ArrayList<>();
+
+    SearchRouteTable(Map<String, T> routes) {
+        final var parser = new PathPatternParser();
+        parser.setCaseSensitive(false);
+
+        routes.forEach((uri, value) -> {
+            Validate.notBlank(uri, "URI must not be blank");
+            Validate.notNull(value, "Value routed from %s must not be null", uri);
+            final var pattern = parser.parse(uri);
+            if (pattern.hasPatternSyntax()) {
+                patternRoutes.add(Map.entry(pattern, value));
+            } else {
+                exactRoutes.putIfAbsent(uri.toLowerCase(Locale.ROOT), value);
+            }
+        });
+        patternRoutes.sort(Map.Entry.comparingByKey(PathPattern.SPECIFICITY_COMPARATOR));
+    }
+
+    /**
+     * @param request {@link HttpServletRequest} to route
+     * @return value routed from the path of supplied request, <code>null</code> if none matches
+     */
+    T find(HttpServletRequest request) {
+        final var requestURI = request.getRequestURI();
+        if (requestURI == null) {
+            return null;
+        }
+
+        return find(RequestPath.parse(requestURI, Objects.toString(request.getContextPath(), StringUtils.EMPTY)));
+    }
+
+    /**
+     * @param path path of a request, for e.g. of a WebFlux request
+     * @return value routed from supplied path, <code>null</code> if none matches
+     */
+    T find(RequestPath path) {
+        var result = find(path.pathWithinApplication());
+        if (result == null && !path.contextPath()
+            .value()
+            .isEmpty()) {
+            result = find((PathContainer) path);
+        }
+        return result;
+    }
+
+    private T find(PathContainer path) {
+        final var result = exactRoutes.get(path.value()
+            .toLowerCase(Locale.ROOT));
+        if (result != null) {
+            return result;
+        }
+
+        for (Map.Entry<PathPattern, T> route : patternRoutes) {
+            if (route.getKey()
+                .matches(path)) {
+                return route.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import com.querydsl.core.types.Expression
+import com.querydsl.core.types.Operation
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Specification tests composition of multi-valued searches by BaseExpressionProvider
+ */
+class BaseExpressionProviderSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    @Unroll
+    def "it must compose #values on #path as '#expected'"() {
+        expect:
+        ExpressionProviderFactory.getPredicate(path, values).get().toString() == expected
+
+        where:
+        path             | values                                           | expected
+        user.userName    | ['a', 'b', 'c']                                  | 'user.userName in [a, b, c]'
+        user.userName    | ['a', 'b', 'and(c)']                             | 'user.userName in [a, b] && user.userName = c'
+        user.userName    | ['a', 'and(b)', 'c', 'd']                        | 'user.userName = a && user.userName = b || user.userName in [c, d]'
+        user.userName    | ['ne(a)', 'and(ne(b))', 'and(not(eq(c)))']       | 'user.userName not in [a, b, c]'
+        user.userName    | ['a', 'ne(b)']                                   | 'user.userName = a || user.userName != b'
+        user.userName    | ['ci(eq(a))', 'ci(eq(b))']                       | 'eqIc(user.userName,a) || eqIc(user.userName,b)'
+        user.profile.age | ['1', '2', '3']                                  | 'user.profile.age in [1, 2, 3]'
+        user.profile.age | ['ne(1)', 'and(ne(2))']                          | 'user.profile.age not in [1, 2]'
+        user.status      | ['ACTIVE', 'LOCKED']                             | 'user.status in [ACTIVE, LOCKED]'
+        user.profile.age | ['gte(20)', 'and(lte(30))']                      | 'user.profile.age between 20 and 30'
+        user.profile.age | ['gt(10)', 'and(gte(20))', 'and(lt(30))']        | 'user.profile.age >= 20 && user.profile.age < 30'
+        user.profile.age | ['gte(20)', 'and(lte(20))']                      | 'user.profile.age = 20'
+        user.profile.age | ['gte(20)', 'and(25)']                           | 'user.profile.age = 25'
+        user.profile.age | ['lt(20)', 'gt(10)']                              | 'user.profile.age is not null'
+        user.profile.age | ['lt(10)', 'lte(20)', 'gt(30)', 'gte(25)']       | 'user.profile.age <= 20 || user.profile.age >= 25'
+        user.profile.age | ['lt(10)', 'ne(15)', 'gt(20)']                   | 'user.profile.age < 10 || user.profile.age != 15 || user.profile.age > 20'
+    }
+
+    @Unroll
+    def "it must resolve contradicting comparisons #values on #path to a predicate matching nothing"() {
+        when:
+        def predicate = ExpressionProviderFactory.getPredicate(path, values).get()
+
+        then:
+        predicate.toString() == expected
+        ExpressionProviderFactory.isUnsatisfiable(predicate)
+
+        where:
+        path             | values                                           | expected
+        user.profile.age | ['gt(30)', 'and(lt(20))']                        | 'user.profile.age in []'
+        user.profile.age | ['gt(20)', 'and(lte(20))']                       | 'user.profile.age in []'
+        user.profile.age | ['gte(20)', 'and(lte(30))', 'and(40)']           | 'user.profile.age in []'
+    }
+
+    def "it must not consider satisfiable predicates unsatisfiable"() {
+        expect:
+        !ExpressionProviderFactory.isUnsatisfiable(ExpressionProviderFactory.getPredicate(user.profile.age,
+                ['gt(20)', 'and(lt(30))']).get())
+    }
+
+    def "it must compose many values as a balanced tree"() {
+        given:
+        def values = (0..<4096).collect { it == 0 ? "contains(v$it)" : "and(contains(v$it))" }
+
+        when:
+        def predicate = ExpressionProviderFactory.getPredicate(user.userName, values).get()
+
+        then:
+        depth(predicate) == 13
+    }
+
+    private static int depth(Expression<?> expression) {
+        expression instanceof Operation
+                ? 1 + ((Operation<?>) expression).args.collect { depth(it) }.max()
+                : 0
+    }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import com.querydsl.collections.CollQuery
+import com.querydsl.core.types.OrderSpecifier
+import com.querydsl.core.types.Predicate
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.User
+import org.springframework.data.querydsl.QuerydslPredicateExecutor
+import spock.lang.Specification
+
+import java.util.concurrent.Executors
+
+/**
+ * Specification tests BulkLookup
+ */
+class BulkLookupSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    def users = (1..10).collect { User.builder()._id(it).userName("u$it").employeeId(it as Long).build() }
+
+    def repository = Mock(QuerydslPredicateExecutor)
+
+    def lookup = BulkLookup.builder()
+            .path(user.employeeId, 3)
+            .build()
+
+    def "it must search oversized IN lists in chunks"() {
+        given:
+        def predicate = user.employeeId.in((1L..10L).toList()).and(user.userName.ne('u5'))
+
+        when:
+        def result = lookup.findAll(repository, predicate)
+
+        then:
+        4 * repository.findAll(_ as Predicate) >> { Predicate p -> search(p) }
+        result*.employeeId == [1L, 2L, 3L, 4L, 6L, 7L, 8L, 9L, 10L]
+    }
+
+    def "it must remove duplicates matched by multiple chunks"() {
+        given:
+        def predicate = user.employeeId.in((1L..6L).toList()).or(user.userName.eq('u9'))
+
+        when:
+        def result = lookup.findAll(repository, predicate)
+
+        then:
+        2 * repository.findAll(_ as Predicate) >> { Predicate p -> search(p) }
+        result*.employeeId == [1L, 2L, 3L, 9L, 4L, 5L, 6L]
+    }
+
+    def "it must sort merged results of chunks searched in parallel"() {
+        given:
+        def executor = Executors.newFixedThreadPool(2)
+        def parallel = BulkLookup.builder()
+                .path(user.employeeId, 3)
+                .executor(executor)
+                .build()
+
+        when:
+        def result = parallel.findAll(repository, user.employeeId.in((1L..7L).toList()), user.employeeId.desc())
+
+        then:
+        3 * repository.findAll(_ as Predicate, _ as OrderSpecifier[]) >> { Predicate p, OrderSpecifier[] o -> search(p) }
+        result*.employeeId == [7L, 6L, 5L, 4L, 3L, 2L, 1L]
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "it must not split negated or small IN lists"() {
+        expect:
+        lookup.split(predicate) == [predicate]
+
+        where:
+        predicate << [
+                user.employeeId.in((1L..10L).toList()).not(),
+                user.employeeId.in([1L, 2L, 3L]),
+                user._id.in((1..10).toList())
+        ]
+    }
+
+    private List<User> search(Predicate predicate) {
+        new CollQuery<Void>().from(user, users).where(predicate).select(user).fetch()
+    }
+}
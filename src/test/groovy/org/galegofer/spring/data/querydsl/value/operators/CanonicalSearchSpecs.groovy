@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Specification tests CanonicalSearch
+ */
+class CanonicalSearchSpecs extends Specification {
+
+    @Unroll
+    def "it must canonicalize #values as #expected"() {
+        expect:
+        CanonicalSearch.canonicalize(values) == expected
+
+        where:
+        values                                       | expected
+        ['a']                                        | ['eq(a)']
+        ['b', 'a', 'or( a )', 'and(starts-with(c))'] | ['eq(a)', 'or(eq(b))', 'and(startsWith(c))']
+        ['and(b)', 'a', 'b']                         | ['eq(a)', 'and(eq(b))']
+        ['d', 'and(c)', 'b', 'a']                    | ['eq(c)', 'and(eq(d))', 'or(eq(a))', 'or(eq(b))']
+        ['not(endsWith(x))', 'ci(ends-with(y))']     | ['ci(endsWith(y))', 'or(not(endsWith(x)))']
+        [' eq( a ) ', ' a ']                         | ['eq( a )', 'or(eq(a))']
+        ['not( a )', 'ci(contains( b ))']            | ['ci(contains( b ))', 'or(not(a))']
+    }
+
+    @Unroll
+    def "it must search canonical values of #values exactly as the originals"() {
+        expect:
+        ExpressionProviderFactory.getPredicate(path, CanonicalSearch.canonicalize(values)) ==
+                ExpressionProviderFactory.getPredicate(path, values)
+
+        where:
+        path                   | values
+        QUser.user.userName    | [' a ', 'or( b )', 'and(not( c ))']
+        QUser.user.userName    | ['ci( a )', 'ne(b)']
+        QUser.user.profile.age | ['gt( 1 )', 'and(lt(5 ))']
+    }
+
+    def "it must fingerprint equivalent searches identically"() {
+        given:
+        def first = CanonicalSearch.of(['userName': ['b', 'a'], 'profile.age': ['gt(1)']])
+        def second = CanonicalSearch.of(['profile.age': [' gt(1) '], 'userName': ['eq(a)', 'a', 'or( b )']])
+
+        expect:
+        first == second
+        first.fingerprint == second.fingerprint
+        first.fingerprint.bits() == 128
+    }
+
+    def "it must fingerprint different searches differently"() {
+        expect:
+        CanonicalSearch.of(['userName': ['a', 'b']]).fingerprint != CanonicalSearch.of(['userName': ['a', 'and(b)']]).fingerprint
+        CanonicalSearch.of(['userName': ['ab']]).fingerprint != CanonicalSearch.of(['user': ['Name', 'ab']]).fingerprint
+    }
+
+    def "it must compute a fingerprint stable across JVMs"() {
+        expect:
+        CanonicalSearch.of(['userName': ['a']]).fingerprint.toString() == '721ee945ddff31b48c505c28895369ec'
+    }
+}
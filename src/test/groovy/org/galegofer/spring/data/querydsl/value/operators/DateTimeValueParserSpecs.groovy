@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Timestamp
+import java.time.Instant
+import java.time.OffsetDateTime
+import java.time.format.DateTimeFormatter
+
+/**
+ * Specification tests DateTimeValueParser
+ */
+class DateTimeValueParserSpecs extends Specification {
+
+    @Unroll
+    def "it must parse '#value' into instant #expected"() {
+        expect:
+        DateTimeValueParser.parse(value, Instant) == Instant.parse(expected)
+
+        where:
+        value                             | expected
+        '2019-02-28T15:00:33Z'            | '2019-02-28T15:00:33Z'
+        '2019-02-28T15:00:33.123+01:00'   | '2019-02-28T14:00:33.123Z'
+        '1551366033000'                   | '2019-02-28T15:00:33Z'
+        '04/29/1980 00:00:00 UTC'         | '1980-04-29T00:00:00Z'
+        '04/29/1980 10:15 +02:00'         | '1980-04-29T08:15:00Z'
+        'Tue, April 29 1980 00:00:00 GMT' | '1980-04-29T00:00:00Z'
+        'Thu Feb 21 00:00:00 UTC 2019'    | '2019-02-21T00:00:00Z'
+    }
+
+    def "it must interpret values without an offset in the system default time zone the same way as Date.parse"() {
+        expect:
+        DateTimeValueParser.parse(value, Date) == new Date(value)
+
+        where:
+        value << ['2/21/19', '04/29/1980', '07/04/2019 10:15:30', '2/30/2019']
+    }
+
+    def "it must convert parsed values to the target type of the path"() {
+        when:
+        def value = '2019-02-28T15:00:33Z'
+
+        then:
+        DateTimeValueParser.parse(value, Date) == Date.from(Instant.parse(value))
+        DateTimeValueParser.parse(value, Timestamp) == Timestamp.from(Instant.parse(value))
+        (DateTimeValueParser.parse(value, OffsetDateTime) as OffsetDateTime).toInstant() == Instant.parse(value)
+    }
+
+    def "it must parse values with registered formatters"() {
+        given:
+        DateTimeValueParser.register(DateTimeFormatter.ofPattern('dd.MM.uuuu HH:mm X'))
+
+        expect:
+        DateTimeValueParser.parse('28.02.2019 15:00 Z', Instant) == Instant.parse('2019-02-28T15:00:00Z')
+    }
+
+    @Unroll
+    def "it must reject invalid date value '#value'"() {
+        when:
+        DateTimeValueParser.parse(value, Date)
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == 'Invalid date value'
+
+        where:
+        value << ['bad', '2019-02-30', '', '-']
+    }
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.DayOfWeek
+import java.util.regex.Pattern
+
+import static java.time.DayOfWeek.*
+
+/**
+ * Specification tests EnumValueIndex
+ */
+class EnumValueIndexSpecs extends Specification {
+
+    def index = EnumValueIndex.of(DayOfWeek)
+
+    def "it must build the index once per enum class"() {
+        expect:
+        EnumValueIndex.of(DayOfWeek).is(index)
+        index.size() == 7
+    }
+
+    @Unroll
+    def "it must match constants #operation '#value' (ignoreCase: #ignoreCase) in declaration order"() {
+        expect:
+        index."$operation"(value, ignoreCase) == expected
+
+        where:
+        operation    | value    | ignoreCase | expected
+        'contains'   | 'DAY'    | false      | [MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY]
+        'contains'   | 'ur'     | true       | [THURSDAY, SATURDAY]
+        'contains'   | 'ur'     | false      | []
+        'startsWith' | 'T'      | false      | [TUESDAY, THURSDAY]
+        'startsWith' | 's'      | true       | [SATURDAY, SUNDAY]
+        'startsWith' | 'X'      | false      | []
+        'endsWith'   | 'NESDAY' | false      | [WEDNESDAY]
+        'endsWith'   | 'sday'   | true       | [TUESDAY, WEDNESDAY, THURSDAY]
+    }
+
+    def "it must match constants with a pattern"() {
+        expect:
+        index.matches(Pattern.compile('^[MF].*')) == [MONDAY, FRIDAY]
+    }
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import com.querydsl.core.types.dsl.EnumPath
+import com.querydsl.core.types.dsl.Expressions
+import com.querydsl.core.types.dsl.NumberPath
+import com.querydsl.core.types.dsl.StringPath
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import spock.lang.Specification
+
+/**
+ * Specification tests resolution of providers by ExpressionProviderFactory
+ */
+class ExpressionProviderFactorySpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    def "it must resolve the provider of the closest registered super-class of a path type"() {
+        given:
+        def path = new CodePath('code')
+
+        expect:
+        ExpressionProviderFactory.getProvider(path).is(ExpressionProviderFactory.getProvider(user.userName))
+        ExpressionProviderFactory.getPredicate(path, 'ne(a)').get().toString() == 'code != a'
+    }
+
+    def "it must resolve no predicate for a path type without registered provider"() {
+        expect:
+        !ExpressionProviderFactory.getPredicate(Expressions.booleanPath('active'), 'true').isPresent()
+    }
+
+    def "it must give precedence to registrations over the providers of the library"() {
+        given:
+        def registration = new StringPathRegistration()
+
+        when:
+        def suppliers = ExpressionProviderFactory.loadProviderSuppliers([registration])
+
+        then:
+        suppliers.get(StringPath).get().is(registration.provider)
+        suppliers.get(NumberPath).get() instanceof NumberPathExpressionProviderImpl
+        suppliers.get(EnumPath).get() instanceof EnumPathExpressionProviderImpl
+    }
+
+    def "it must register providers for new path types"() {
+        when:
+        def suppliers = ExpressionProviderFactory.loadProviderSuppliers([new CodePathRegistration()])
+
+        then:
+        suppliers.get(CodePath).get() instanceof StringPathExpressionProviderImpl
+        suppliers.get(StringPath).get() instanceof StringPathExpressionProviderImpl
+    }
+
+    def "it must reject registrations of the same path type"() {
+        when:
+        ExpressionProviderFactory.loadProviderSuppliers([new StringPathRegistration(), new OtherStringPathRegistration()])
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message.contains(StringPath.name)
+        e.message.contains(StringPathRegistration.name)
+        e.message.contains(OtherStringPathRegistration.name)
+    }
+
+    static class CodePath extends StringPath {
+
+        CodePath(String variable) {
+            super(variable)
+        }
+    }
+
+    static class StringPathRegistration implements ExpressionProviderRegistration<StringPath> {
+
+        final ExpressionProvider<StringPath, ?> provider = new StringPathExpressionProviderImpl()
+
+        @Override
+        Class<StringPath> getPathType() {
+            StringPath
+        }
+
+        @Override
+        ExpressionProvider<StringPath, ?> createExpressionProvider() {
+            provider
+        }
+    }
+
+    static class OtherStringPathRegistration extends StringPathRegistration {
+    }
+
+    static class CodePathRegistration implements ExpressionProviderRegistration<CodePath> {
+
+        @Override
+        Class<CodePath> getPathType() {
+            CodePath
+        }
+
+        @Override
+        ExpressionProvider<CodePath, ?> createExpressionProvider() {
+            new StringPathExpressionProviderImpl()
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.User
+import org.springframework.data.domain.KeysetScrollPosition
+import org.springframework.data.domain.ScrollPosition
+import org.springframework.data.domain.Sort
+import org.springframework.data.domain.Window
+import org.springframework.data.querydsl.QuerydslPredicateExecutor
+import org.springframework.data.repository.query.FluentQuery
+import spock.lang.Specification
+
+import java.lang.reflect.Method
+import java.util.function.Function
+
+/**
+ * Specification tests KeysetSearch
+ */
+class KeysetSearchSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    // static interface methods can't be called directly from Groovy 2
+    static final Method FORWARD = ScrollPosition.getMethod('forward', Map)
+
+    def users = (1..10).collect { User.builder()._id(it).userName("u$it").build() }
+
+    def repository = Mock(QuerydslPredicateExecutor)
+
+    def fetched = 0
+
+    def search = KeysetSearch.builder(Sort.by('_id'))
+            .fetchSize(3)
+            .build()
+
+    def "it must stream all entities window by window"() {
+        when:
+        def result = search.stream(repository, user.userName.startsWith('u')).toList()
+
+        then:
+        4 * repository.findBy(_, _) >> { args -> scroll(args[1]) }
+        result*._id == (1..10).toList()
+    }
+
+    def "it must fetch the next window only once the previous one is consumed"() {
+        when:
+        def result = search.stream(repository, user.userName.startsWith('u')).limit(3).toList()
+
+        then:
+        1 * repository.findBy(_, _) >> { args -> scroll(args[1]) }
+        result*._id == [1, 2, 3]
+    }
+
+    def "it must run the after window action once a window is consumed"() {
+        given:
+        def consumed = []
+        def detaching = KeysetSearch.builder(Sort.by('_id'))
+                .fetchSize(3)
+                .afterWindow({ consumed << fetched } as Runnable)
+                .build()
+
+        when:
+        def result = detaching.stream(repository, user.userName.startsWith('u')).toList()
+
+        then:
+        4 * repository.findBy(_, _) >> { args -> fetched++; scroll(args[1]) }
+        result == users
+        consumed == [1, 2, 3]
+    }
+
+    def "it must not search a predicate matching nothing"() {
+        when:
+        def result = search.stream(repository, user.employeeId.in([])).toList()
+
+        then:
+        0 * repository.findBy(_, _)
+        result.isEmpty()
+    }
+
+    /**
+     * Applies a query function to an in-memory query, scrolling users by identifier.
+     */
+    private Window<User> scroll(Function function) {
+        def limit = 0
+        def query = Mock(FluentQuery.FetchableFluentQuery)
+        query.sortBy(Sort.by('_id')) >> query
+        query.limit(_) >> { int l -> limit = l; query }
+        query.scroll(_) >> { KeysetScrollPosition position ->
+            def after = position.keys.get('_id') ?: 0
+            def content = users.findAll { it._id > after }
+            Window.from(content.take(limit), { i -> FORWARD.invoke(null, [_id: content[i]._id]) },
+                    content.size() > limit)
+        }
+        function.apply(query) as Window<User>
+    }
+}
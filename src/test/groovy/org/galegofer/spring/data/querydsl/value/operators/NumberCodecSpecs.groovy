@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Specification tests NumberCodec
+ */
+class NumberCodecSpecs extends Specification {
+
+    @Unroll
+    def "it must decode '#value' into #type.simpleName #expected"() {
+        expect:
+        def decoded = NumberCodec.forType(type).decode(value)
+        decoded.class == type
+        decoded == expected
+
+        where:
+        type       | value                  | expected
+        Integer    | '42'                   | 42
+        Integer    | '-2147483648'          | Integer.MIN_VALUE
+        Integer    | '010'                  | 10
+        Integer    | '3.0'                  | 3
+        Long       | '9223372036854775807'  | Long.MAX_VALUE
+        Short      | '-7'                   | (short) -7
+        Byte       | '127'                  | (byte) 127
+        BigInteger | '99999999999999999999' | new BigInteger('99999999999999999999')
+        Double     | '0.1'                  | 0.1d
+        Float      | '-.5'                  | -0.5f
+        BigDecimal | '1.50'                 | new BigDecimal('1.50')
+    }
+
+    @Unroll
+    def "it must reject '#value' for #type.simpleName"() {
+        when:
+        NumberCodec.forType(type).decode(value)
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == 'Invalid numeric value'
+
+        where:
+        type       | value
+        Integer    | '2147483648'
+        Integer    | '1.5'
+        Long       | '9223372036854775808'
+        Byte       | '128'
+        BigInteger | '1.1'
+        Integer    | ''
+        Integer    | '-'
+        Integer    | '+5'
+        Integer    | '1e3'
+        Integer    | '5.'
+        Double     | 'x'
+    }
+
+    def "it must not resolve a codec for non-standard number types"() {
+        expect:
+        NumberCodec.forType(java.util.concurrent.atomic.AtomicInteger) == null
+    }
+}
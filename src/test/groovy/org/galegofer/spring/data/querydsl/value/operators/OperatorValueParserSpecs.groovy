@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Specification tests OperatorValueParser
+ */
+class OperatorValueParserSpecs extends Specification {
+
+    def "it must parse nested operators into a chain ending in a literal"() {
+        when:
+        def node = OperatorValueParser.parse('not(ci(startsWith(abc)))')
+
+        then:
+        node.operator == Operator.NOT
+        node.operand.operator == Operator.CASE_IGNORE
+        node.operand.text == 'ci(startsWith(abc))'
+        node.operand.operand.operator == Operator.STARTS_WITH
+        node.literal.text == 'abc'
+        !node.literal.isOperator()
+        node.depth == 3
+    }
+
+    @Unroll
+    def "it must parse '#value' into literal '#literal' with depth #depth"() {
+        expect:
+        OperatorValueParser.parse(value).literal.text == literal
+        OperatorValueParser.parse(value).depth == depth
+
+        where:
+        value                   | literal    | depth
+        'abc'                   | 'abc'      | 0
+        '  abc '                | 'abc'      | 0
+        'eq( abc )'             | ' abc '    | 1
+        'starts-with(ab)'       | 'ab'       | 1
+        'foo(bar)'              | 'foo(bar)' | 0
+        'eq(a(b))'              | 'a(b)'     | 1
+        'eq(x'                  | 'eq(x'     | 0
+        'not()'                 | ''         | 1
+        'and(not(eq(x)))'       | 'x'        | 3
+    }
+
+    @Unroll
+    def "it must detect malformed composition of '#value'"() {
+        when:
+        OperatorValueParser.parse(value).validateComposition()
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.message.startsWith(message)
+
+        where:
+        value     | message
+        'eq(x))'  | 'Malformed (Incompletely closed) value'
+        'eq((x)'  | 'Malformed (bad-ordering) value'
+    }
+
+    def "it must not validate delimiters of values without operators"() {
+        expect:
+        OperatorValueParser.parse('x)').isWellFormed()
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.ForkJoinPool
+
+/**
+ * Specification tests ParallelParsing
+ */
+class ParallelParsingSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    @Shared
+    def pool = new ForkJoinPool(4)
+
+    def cleanup() {
+        ExpressionProviderFactory.disableParallelParsing()
+    }
+
+    def cleanupSpec() {
+        pool.shutdown()
+    }
+
+    def "it must build the same predicate in parallel as sequentially"() {
+        given:
+        def values = (0..<5000).collect { it % 7 == 0 ? "and(ne($it))" : "$it".toString() } + ['or(gt(10000))']
+        def sequential = ExpressionProviderFactory.getPredicate(user.employeeId, values)
+
+        when:
+        ExpressionProviderFactory.enableParallelParsing(100, pool)
+        def parallel = ExpressionProviderFactory.getPredicate(user.employeeId, values)
+
+        then:
+        parallel == sequential
+        parallel.get().toString() == sequential.get().toString()
+    }
+
+    def "it must fail on the first invalid value as sequential parsing does"() {
+        when:
+        new ParallelParsing(10, pool).map((0..<2000).toList(), {
+            if (it == 10 || it == 1500) {
+                throw new IllegalArgumentException("Invalid value $it")
+            }
+            it
+        })
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == 'Invalid value 10'
+    }
+
+    def "it must process values in order"() {
+        expect:
+        new ParallelParsing(10, pool).map((0..<2000).toList(), { it * 2 }) == (0..<2000).collect { it * 2 }
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import com.querydsl.core.types.dsl.Expressions
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import spock.lang.Specification
+
+/**
+ * Specification tests lookups of aliases and request parameter names by PathAliasIndex
+ */
+class PathAliasIndexSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    def index = new PathAliasIndex()
+
+    def "it must look up aliases in both directions"() {
+        when:
+        index.register(user.profile.middleName, 'middleName')
+
+        then:
+        index.findAlias(user.profile.middleName).get() == 'middleName'
+        index.findPath('middleName').get() == user.profile.middleName
+        !index.findAlias(user.userName).isPresent()
+        !index.findPath('userName').isPresent()
+        !index.findAlias(null).isPresent()
+        !index.findPath(null).isPresent()
+    }
+
+    def "it must replace the previous alias of a path"() {
+        given:
+        index.register(user.profile.middleName, 'middle')
+
+        when:
+        index.register(user.profile.middleName, 'middleName')
+
+        then:
+        index.findAlias(user.profile.middleName).get() == 'middleName'
+        index.findPath('middleName').get() == user.profile.middleName
+        !index.findPath('middle').isPresent()
+    }
+
+    def "it must replace the previous path of an alias"() {
+        given:
+        index.register(user.profile.middleName, 'name')
+
+        when:
+        index.register(user.profile.firstName, 'name')
+
+        then:
+        index.findPath('name').get() == user.profile.firstName
+        index.findAlias(user.profile.firstName).get() == 'name'
+        !index.findAlias(user.profile.middleName).isPresent()
+    }
+
+    def "it must reject blank aliases"() {
+        when:
+        index.register(user.profile.middleName, ' ')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "it must name request parameters relative to the entity root"() {
+        expect:
+        index.getRequestParameterName(user, user.profile.middleName) == 'profile.middleName'
+        index.getRequestParameterName(user, user.userName) == 'userName'
+    }
+
+    def "it must reject paths of another entity root"() {
+        when:
+        index.getRequestParameterName(user, Expressions.stringPath('userName'))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
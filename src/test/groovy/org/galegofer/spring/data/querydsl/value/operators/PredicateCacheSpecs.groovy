@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContext
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContextHolder
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import org.springframework.mock.web.MockHttpServletRequest
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.format.DateTimeFormatter
+
+/**
+ * Specification tests the predicate cache of ExpressionProviderFactory
+ */
+class PredicateCacheSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    def setup() {
+        ExpressionProviderFactory.enablePredicateCache(1000, 100)
+    }
+
+    def cleanup() {
+        ExpressionProviderFactory.disablePredicateCache()
+        ExpressionProviderFactory.setDefaultStringValuePolicy(StringValuePolicy.DEFAULT)
+        ExpressionProviderFactory.setSupportsUnTypedValues(false)
+        QuerydslHttpRequestContextHolder.clearContext()
+    }
+
+    def "it must share cached predicates of repeated searches and record statistics"() {
+        when:
+        def first = ExpressionProviderFactory.getPredicate(user.userName, ['ssmith', 'ne(dgayle)']).get()
+        def second = ExpressionProviderFactory.getPredicate(user.userName, ['ssmith', 'ne(dgayle)']).get()
+        def stats = ExpressionProviderFactory.getPredicateCacheStats().get()
+
+        then:
+        second.is(first)
+        stats.hitCount() == 1
+        stats.missCount() == 1
+    }
+
+    def "it must share cached predicates of values differing only by surrounding whitespace"() {
+        when:
+        def first = ExpressionProviderFactory.getPredicate(user.employeeId, 'gt(5)').get()
+        def second = ExpressionProviderFactory.getPredicate(user.employeeId, '  gt(5) ').get()
+
+        then:
+        second.is(first)
+        ExpressionProviderFactory.getPredicateCacheStats().get().hitCount() == 1
+    }
+
+    def "it must key cached predicates by original request values rather than values supplied by bindings"() {
+        given:
+        def request = new MockHttpServletRequest()
+        request.addParameter('userName', 'ne(john)')
+
+        when:
+        def unbound = ExpressionProviderFactory.getPredicate(user.userName, 'john').get()
+        QuerydslHttpRequestContextHolder.setContext(new QuerydslHttpRequestContext(user, request))
+        def original = ExpressionProviderFactory.getPredicate(user.userName, 'john').get()
+
+        then:
+        unbound.toString() == 'user.userName = john'
+        original.toString() == 'user.userName != john'
+        ExpressionProviderFactory.getPredicateCacheStats().get().hitCount() == 0
+    }
+
+    def "it must not cache predicates heavier than the entry weight limit"() {
+        given:
+        def values = (1..50).collect { "value$it".toString() }
+
+        when:
+        ExpressionProviderFactory.getPredicate(user.userName, values)
+        ExpressionProviderFactory.getPredicate(user.userName, values)
+
+        then:
+        ExpressionProviderFactory.getPredicateCacheStats().get().requestCount() == 0
+    }
+
+    @Unroll
+    def "it must invalidate cached predicates when #change"() {
+        given:
+        ExpressionProviderFactory.getPredicate(user.userName, 'ssmith')
+
+        when:
+        configure()
+        ExpressionProviderFactory.getPredicate(user.userName, 'ssmith')
+
+        then:
+        ExpressionProviderFactory.getPredicateCacheStats().get().missCount() == 2
+
+        where:
+        change                                        | configure
+        'untyped value support changes'               | { ExpressionProviderFactory.setSupportsUnTypedValues(true) }
+        'a date time formatter is registered'         | {
+            ExpressionProviderFactory.registerDateTimeFormatter(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+        }
+        'the default string value policy changes'     | {
+            ExpressionProviderFactory.setDefaultStringValuePolicy(StringValuePolicy.DEFAULT)
+        }
+        'a string value policy is registered by path' | {
+            ExpressionProviderFactory.registerStringValuePolicy(user.profile.lastName, StringValuePolicy.DEFAULT)
+        }
+        'an alias is registered'                      | {
+            ExpressionProviderFactory.registerAlias(user.profile.lastName, 'cachedLastName')
+        }
+    }
+
+    def "it must build predicates again once invalidated by a policy change"() {
+        when:
+        ExpressionProviderFactory.getPredicate(user.userName, 'a.b')
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        ExpressionProviderFactory.setDefaultStringValuePolicy(StringValuePolicy.builder()
+                .allowLetters()
+                .allowCharacters('.')
+                .length(1, 64)
+                .build())
+
+        then:
+        ExpressionProviderFactory.getPredicate(user.userName, 'a.b').get().toString() == 'user.userName = a.b'
+    }
+
+    def "it must reject values once an alias makes its string value policy apply to the path of a cached predicate"() {
+        given:
+        ExpressionProviderFactory.registerStringValuePolicy('cachedMiddleName', StringValuePolicy.builder()
+                .allowLetters()
+                .length(1, 3)
+                .build())
+
+        when:
+        def cached = ExpressionProviderFactory.getPredicate(user.profile.middleName, 'ssmith')
+
+        then:
+        cached.get().toString() == 'user.profile.middleName = ssmith'
+
+        when:
+        ExpressionProviderFactory.registerAlias(user.profile.middleName, 'cachedMiddleName')
+        ExpressionProviderFactory.getPredicate(user.profile.middleName, 'ssmith')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "it must not return a predicate built while the configuration changed"() {
+        given:
+        def cache = new PredicateCache(1000, 100)
+        def stale = user.userName.eq('stale')
+        def fresh = user.userName.eq('fresh')
+
+        when:
+        cache.get(user.userName, ['ssmith'], {
+            ExpressionProviderFactory.setSupportsUnTypedValues(false)
+            Optional.of(stale)
+        })
+        def result = cache.get(user.userName, ['ssmith'], { Optional.of(fresh) })
+
+        then:
+        result.get().is(fresh)
+    }
+
+    def "it must propagate exceptions of predicates failing to build"() {
+        given:
+        def cache = new PredicateCache(1000, 100)
+
+        when:
+        cache.get(user.userName, ['ssmith'], { throw new IllegalArgumentException('invalid') })
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == 'invalid'
+    }
+}
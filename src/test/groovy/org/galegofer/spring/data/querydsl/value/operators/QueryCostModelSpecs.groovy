@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContext
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContextHolder
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import org.springframework.mock.web.MockHttpServletRequest
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Specification tests QueryCostModel
+ */
+class QueryCostModelSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    def model = QueryCostModel.builder(30)
+            .weight(Operator.STARTS_WITH, 3)
+            .weight(user.profile.lastName, Operator.CONTAINS, 25)
+            .build()
+
+    def cleanup() {
+        ExpressionProviderFactory.setQueryCostModel(null)
+        QuerydslHttpRequestContextHolder.clearContext()
+    }
+
+    @Unroll
+    def "it must cost #values on #path as #expected"() {
+        expect:
+        model.getCost(path, values.collect { OperatorValueParser.parse(it) }) == expected
+
+        where:
+        path                  | values                                  | expected
+        user.userName         | ['a']                                   | 1
+        user.userName         | ['a', 'b', 'and(ne(c))']                | 3
+        user.userName         | ['not(not(ci(eq(a))))']                 | 4
+        user.userName         | ['or(a)', 'and(b)']                     | 2
+        user.userName         | ['not(a)']                              | 2
+        user.userName         | ['ci(a)', 'not(ci(b))']                 | 5
+        user.userName         | ['and(not(gt(a)))']                     | 2
+        user.userName         | ['contains(a)', 'matches(b)']           | 30
+        user.userName         | ['starts-with(a)', 'endsWith(b)']       | 13
+        user.profile.lastName | ['contains(a)', 'and(startsWith(b))']   | 28
+    }
+
+    def "it must reject a search exceeding the budget"() {
+        given:
+        ExpressionProviderFactory.setQueryCostModel(model)
+
+        when:
+        ExpressionProviderFactory.getPredicate(user.profile.lastName, ['contains(a)', 'and(contains(b))'])
+
+        then:
+        def e = thrown(QueryCostExceededException)
+        e.cost == 50
+        e.budget == 30
+    }
+
+    def "it must accumulate cost of all searches of a request"() {
+        given:
+        ExpressionProviderFactory.setQueryCostModel(model)
+        def context = new QuerydslHttpRequestContext(user, new MockHttpServletRequest())
+        QuerydslHttpRequestContextHolder.setContext(context)
+
+        when:
+        ExpressionProviderFactory.getPredicate(user.userName, ['contains(a)', 'contains(b)'])
+
+        then:
+        context.cost == 20
+
+        when:
+        ExpressionProviderFactory.getPredicate(user.profile.firstName, ['contains(a)', 'b'])
+
+        then:
+        def e = thrown(QueryCostExceededException)
+        e.cost == 31
+        context.cost == 31
+    }
+}
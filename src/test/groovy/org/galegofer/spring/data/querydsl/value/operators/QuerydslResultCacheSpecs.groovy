@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.User
+import org.springframework.aop.framework.ProxyFactory
+import org.springframework.data.querydsl.QuerydslPredicateExecutor
+import org.springframework.data.repository.CrudRepository
+import org.springframework.data.repository.core.RepositoryInformation
+import org.springframework.transaction.TransactionDefinition
+import org.springframework.transaction.support.AbstractPlatformTransactionManager
+import org.springframework.transaction.support.DefaultTransactionStatus
+import org.springframework.transaction.support.TransactionCallback
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+/**
+ * Specification tests QuerydslResultCache
+ */
+class QuerydslResultCacheSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    def john = User.builder()._id(1).userName('john').build()
+    def jane = User.builder()._id(2).userName('jane').build()
+
+    def delegate = Mock(UserSearchRepository)
+
+    def transactions = new TransactionTemplate(new NoOpTransactionManager())
+
+    UserSearchRepository repository
+
+    def setup() {
+        def information = Mock(RepositoryInformation) {
+            getRepositoryInterface() >> UserSearchRepository
+            getDomainType() >> User
+        }
+        def factory = new ProxyFactory(delegate)
+        factory.addInterface(UserSearchRepository)
+        QuerydslResultCache.builder().build().postProcess(factory, information)
+        repository = factory.getProxy() as UserSearchRepository
+    }
+
+    def "it must cache results of searches"() {
+        when:
+        def first = repository.findAll(user.userName.eq('john'))
+        def second = repository.findAll(user.userName.eq('john'))
+
+        then:
+        1 * delegate.findAll(user.userName.eq('john')) >> [john]
+        first.is(second)
+    }
+
+    def "it must evict only results a saved entity could affect"() {
+        given:
+        delegate.findAll(user.userName.eq('john')) >> [john]
+        delegate.findAll(user.userName.eq('jane')) >> []
+        repository.findAll(user.userName.eq('john'))
+        repository.findAll(user.userName.eq('jane'))
+
+        when:
+        repository.save(jane)
+        repository.findAll(user.userName.eq('john'))
+        repository.findAll(user.userName.eq('jane'))
+
+        then:
+        1 * delegate.save(jane) >> jane
+        0 * delegate.findAll(user.userName.eq('john'))
+        1 * delegate.findAll(user.userName.eq('jane')) >> [jane]
+    }
+
+    def "it must evict results holding an entity which no longer matches"() {
+        given:
+        def renamed = User.builder()._id(1).userName('jack').build()
+        delegate.findAll(user.userName.eq('john')) >> [john]
+        repository.findAll(user.userName.eq('john'))
+
+        when:
+        repository.save(renamed)
+        repository.findAll(user.userName.eq('john'))
+
+        then:
+        1 * delegate.save(renamed) >> renamed
+        1 * delegate.findAll(user.userName.eq('john')) >> []
+    }
+
+    def "it must evict counts on any save and all results on other writes"() {
+        given:
+        delegate.findAll(user.userName.eq('john')) >> [john]
+        repository.count(user.userName.eq('john'))
+        repository.findAll(user.userName.eq('john'))
+
+        when:
+        repository.save(jane)
+        repository.count(user.userName.eq('john'))
+        repository.findAll(user.userName.eq('john'))
+
+        then:
+        1 * delegate.save(jane) >> jane
+        1 * delegate.count(user.userName.eq('john')) >> 1L
+        0 * delegate.findAll(_)
+
+        when:
+        repository.deleteById(1)
+        repository.findAll(user.userName.eq('john'))
+
+        then:
+        1 * delegate.findAll(user.userName.eq('john')) >> []
+    }
+
+    def "it must not query the store for predicates matching nothing"() {
+        given:
+        def predicate = ExpressionProviderFactory.getPredicate(user.profile.age, ['gt(30)', 'and(lt(20))']).get()
+
+        when:
+        def result = repository.findAll(predicate)
+        def count = repository.count(predicate)
+
+        then:
+        0 * delegate._
+        result.isEmpty()
+        count == 0
+    }
+
+    def "it must evict results cached within a transaction which is rolled back"() {
+        given:
+        def renamed = User.builder()._id(1).userName('jack').build()
+
+        when:
+        def inside = transactions.execute({ status ->
+            repository.save(renamed)
+            status.setRollbackOnly()
+            repository.findAll(user.userName.eq('jack'))
+        } as TransactionCallback)
+        def after = repository.findAll(user.userName.eq('jack'))
+
+        then:
+        1 * delegate.save(renamed) >> renamed
+        2 * delegate.findAll(user.userName.eq('jack')) >>> [[renamed], []]
+        inside == [renamed]
+        after == []
+    }
+
+    def "it must evict results cached before a transaction commits"() {
+        given:
+        def renamed = User.builder()._id(1).userName('jack').build()
+
+        when:
+        transactions.execute({ status ->
+            repository.save(renamed)
+            // as read by a concurrent search before the commit
+            repository.findAll(user.userName.eq('john'))
+        } as TransactionCallback)
+        def after = repository.findAll(user.userName.eq('john'))
+
+        then:
+        1 * delegate.save(renamed) >> renamed
+        2 * delegate.findAll(user.userName.eq('john')) >>> [[john], []]
+        after == []
+    }
+
+    def "it must not cache results of searches running while results are evicted"() {
+        given:
+        def renamed = User.builder()._id(1).userName('jack').build()
+
+        when:
+        def during = repository.findAll(user.userName.eq('john'))
+        def after = repository.findAll(user.userName.eq('john'))
+
+        then:
+        1 * delegate.save(renamed) >> renamed
+        2 * delegate.findAll(user.userName.eq('john')) >> {
+            // as written by a concurrent request after the search read the store
+            repository.save(renamed)
+            [john]
+        } >> []
+        during == [john]
+        after == []
+    }
+
+    interface UserSearchRepository extends CrudRepository<User, Integer>, QuerydslPredicateExecutor<User> {
+    }
+
+    static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            new Object()
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import jakarta.servlet.FilterChain
+import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContextAwareServletFilter
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.User
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import spock.lang.Specification
+
+/**
+ * Specification tests RequestPredicateCompiler
+ */
+class RequestPredicateCompilerSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    def compiler = RequestPredicateCompiler.builder(user)
+            .path(user.userName, user.employeeId, user.profile.firstName)
+            .build()
+
+    def "it must compile all searched parameters into a single predicate"() {
+        when:
+        def predicate = compiler.compile([
+                'userName'         : ['a', 'or(b)'] as String[],
+                'employeeId'       : ['gt(5)'] as String[],
+                'profile.firstName': [' '] as String[],
+                'page'             : ['1'] as String[]])
+
+        then:
+        predicate.get().toString() == 'user.employeeId > 5 && user.userName in [a, b]'
+    }
+
+    def "it must compile original values of requests behind the servlet filter"() {
+        given:
+        def filter = new QuerydslHttpRequestContextAwareServletFilter(['/users/search': User])
+        def request = new MockHttpServletRequest('GET', '/users/search')
+        request.addParameter('userName', 'ne(john)')
+        request.addParameter('employeeId', 'gt(5)', 'and(lt(9))')
+        def predicate = null
+
+        when:
+        filter.doFilter(request, new MockHttpServletResponse(), { req, res ->
+            predicate = compiler.compile(req.getParameterMap())
+        } as FilterChain)
+
+        then:
+        predicate.get().toString() == 'user.employeeId > 5 && user.employeeId < 9 && user.userName != john'
+    }
+
+    def "it must compile nothing when no path is searched"() {
+        expect:
+        !compiler.compile(['page': ['1'] as String[], 'enabled': ['true'] as String[]]).present
+    }
+
+    def "it must share compiled predicates among equivalent searches"() {
+        when:
+        def first = compiler.compile(['userName': ['b', 'a'] as String[]])
+        def second = compiler.compile(['userName': ['eq(a)', 'or(eq(b))'] as String[]])
+
+        then:
+        first.get().is(second.get())
+        compiler.stats().hitCount() == 1
+        compiler.stats().missCount() == 1
+    }
+
+    def "it must compile a search matching nothing into the unsatisfiable predicate alone"() {
+        when:
+        def predicate = compiler.compile([
+                'userName'  : ['a'] as String[],
+                'employeeId': ['gt(30)', 'and(lt(20))'] as String[]])
+
+        then:
+        ExpressionProviderFactory.isUnsatisfiable(predicate.get())
+        predicate.get() == ExpressionProviderFactory.getPredicate(user.employeeId, ['gt(30)', 'and(lt(20))']).get()
+    }
+
+    def "it must compile aliased parameters with the path their alias currently resolves to"() {
+        given:
+        def aliased = RequestPredicateCompiler.builder(user)
+                .path(user.profile.firstName, user.profile.lastName)
+                .build()
+
+        when:
+        ExpressionProviderFactory.registerAlias(user.profile.firstName, 'compiledName')
+        def first = aliased.compile(['compiledName': ['John'] as String[]])
+        ExpressionProviderFactory.registerAlias(user.profile.lastName, 'compiledName')
+        def second = aliased.compile(['compiledName': ['John'] as String[]])
+
+        then:
+        first.get().toString() == 'user.profile.firstName = John'
+        second.get().toString() == 'user.profile.lastName = John'
+    }
+
+    def "it must reject invalid values of every search rather than caching the failure"() {
+        when:
+        compiler.compile(['userName': ['a.b'] as String[]])
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        compiler.compile(['userName': ['a.b'] as String[]])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators
+
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Specification tests StringValuePolicy
+ */
+class StringValuePolicySpecs extends Specification {
+
+    @Unroll
+    def "default policy must consider '#value' valid: #valid"() {
+        expect:
+        StringValuePolicy.DEFAULT.isValid(Operator.EQUAL, value) == valid
+
+        where:
+        value                   | valid
+        'ssmith'                | true
+        'ssmith@company.com'    | false
+        'a-b_c@d:E9'            | true
+        ''                      | false
+        'a' * 64                | true
+        'a' * 65                | false
+        'a b'                   | false
+        'é'                     | false
+    }
+
+    def "it must apply operator specific length limits"() {
+        given:
+        def policy = StringValuePolicy.builder()
+            .allowLetters()
+            .allowCharacters('.@')
+            .length(1, 32)
+            .length(Operator.STARTS_WITH, 3, 32)
+            .build()
+
+        expect:
+        policy.isValid(Operator.EQUAL, 'a.b@c')
+        !policy.isValid(Operator.STARTS_WITH, 'ab')
+        !policy.isValid(Operator.STARTSWITH, 'ab')
+        policy.isValid(Operator.STARTSWITH, 'abc')
+    }
+
+    def "it must apply policies registered per path before the default policy"() {
+        given:
+        def policy = StringValuePolicy.builder().allowLetters().allowCharacters('.@').length(1, 64).build()
+        ExpressionProviderFactory.registerStringValuePolicy(QUser.user.profile.firstName, policy)
+
+        expect:
+        ExpressionProviderFactory.getPredicate(QUser.user.profile.firstName, 'ci(eq(a.b))').isPresent()
+
+        when:
+        ExpressionProviderFactory.getPredicate(QUser.user.profile.lastName, 'a.b')
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == 'Invalid string value'
+    }
+
+    def "it must validate all values before building any expression"() {
+        when:
+        ExpressionProviderFactory.getPredicate(QUser.user.userName, ['a', 'and(b c)'])
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == 'Invalid string value'
+    }
+}
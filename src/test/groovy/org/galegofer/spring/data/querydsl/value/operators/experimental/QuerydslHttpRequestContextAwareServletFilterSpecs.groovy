@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators.experimental
+
+import jakarta.servlet.DispatcherType
+import jakarta.servlet.FilterChain
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.User
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import spock.lang.Specification
+
+/**
+ * Specification tests async dispatches through QuerydslHttpRequestContextAwareServletFilter
+ */
+class QuerydslHttpRequestContextAwareServletFilterSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    def filter = new QuerydslHttpRequestContextAwareServletFilter(['/users/search': User])
+    def request = new MockHttpServletRequest('GET', '/users/search')
+    def response = new MockHttpServletResponse()
+
+    def setup() {
+        request.addParameter('employeeId', 'gt(5)')
+        request.setAsyncSupported(true)
+    }
+
+    def "it must bind the context of a search again on async dispatch"() {
+        given:
+        def initial = null
+        def resumed = null
+        def resumedValues = null
+
+        when: 'the handler starts async processing'
+        filter.doFilter(request, response, { req, res ->
+            initial = QuerydslHttpRequestContextHolder.getContext()
+            req.startAsync()
+        } as FilterChain)
+
+        then: 'the container thread is released without the context'
+        request.asyncStarted
+        QuerydslHttpRequestContextHolder.getContext() == null
+        request.getAttribute(QuerydslHttpRequestContextAwareServletFilter.CONTEXT_ATTRIBUTE).is(initial)
+
+        when: 'the result is dispatched back to the container'
+        request.setDispatcherType(DispatcherType.ASYNC)
+        filter.doFilter(request, response, { req, res ->
+            resumed = QuerydslHttpRequestContextHolder.getContext()
+            resumedValues = req.getParameterValues('employeeId')
+        } as FilterChain)
+
+        then:
+        resumed.is(initial)
+        resumedValues == ['5'] as String[]
+        QuerydslHttpRequestContextHolder.getContext() == null
+
+        when: 'the request completes'
+        request.getAsyncContext().complete()
+
+        then:
+        request.getAttribute(QuerydslHttpRequestContextAwareServletFilter.CONTEXT_ATTRIBUTE) == null
+    }
+
+    def "it must keep the context across restarts of async processing"() {
+        given:
+        filter.doFilter(request, response, { req, res -> req.startAsync() } as FilterChain)
+        def context = request.getAttribute(QuerydslHttpRequestContextAwareServletFilter.CONTEXT_ATTRIBUTE)
+        request.setDispatcherType(DispatcherType.ASYNC)
+        def resumed = null
+
+        when:
+        filter.doFilter(request, response, { req, res -> req.startAsync() } as FilterChain)
+
+        then:
+        request.getAttribute(QuerydslHttpRequestContextAwareServletFilter.CONTEXT_ATTRIBUTE).is(context)
+
+        when:
+        filter.doFilter(request, response, { req, res ->
+            resumed = QuerydslHttpRequestContextHolder.getContext()
+        } as FilterChain)
+        request.getAsyncContext().complete()
+
+        then:
+        resumed.is(context)
+        request.getAttribute(QuerydslHttpRequestContextAwareServletFilter.CONTEXT_ATTRIBUTE) == null
+    }
+
+    def "it must release the context of synchronous searches once the chain returns"() {
+        given:
+        def context = null
+
+        when:
+        filter.doFilter(request, response, { req, res ->
+            context = QuerydslHttpRequestContextHolder.getContext()
+        } as FilterChain)
+
+        then:
+        context.getAllValues(user.employeeId) == ['gt(5)'] as String[]
+        QuerydslHttpRequestContextHolder.getContext() == null
+        request.getAttribute(QuerydslHttpRequestContextAwareServletFilter.CONTEXT_ATTRIBUTE) == null
+    }
+}
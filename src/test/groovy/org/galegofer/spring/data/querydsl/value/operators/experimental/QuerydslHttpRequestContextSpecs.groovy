@@ -21,6 +21,8 @@ import jakarta.servlet.http.HttpServletRequest
 import org.springframework.mock.web.MockHttpServletRequest
 import spock.lang.Specification
 
+import java.util.concurrent.Executors
+
 
 /**
  * Specification tests QuerydslHttpRequestContext
@@ -83,7 +85,50 @@ class QuerydslHttpRequestContextSpecs extends Specification {
         context.getAllValues(lastNamePath)[0] == 'Doe'
     }
 
+    def "it must transform parameters once and share them"() {
+        expect:
+        wrappedRequest.getParameterMap().is(wrappedRequest.getParameterMap())
+        wrappedRequest.getParameterValues('profile.age').is(wrappedRequest.getParameterMap()['profile.age'])
+        wrappedRequest.getParameterMap().keySet().toList() == ['profile.firstName', 'profile.lastName', 'profile.age']
+    }
+
+    def "it must transform only parameters in use"() {
+        given:
+        def request = new CountingHttpServletRequest()
+        request.addParameters(['profile.lastName': 'Doe', 'page': '1', 'size': '20'])
+        def wrapped = new QuerydslHttpRequestContext(rootPath, request).getWrappedHttpServletRequest()
+
+        when:
+        wrapped.getParameter('profile.lastName')
+        wrapped.getParameterValues('profile.lastName')
+
+        then:
+        request.requested == ['profile.lastName']
+    }
+
+    def "it must accumulate costs charged concurrently"() {
+        given:
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        (1..4).collect { executor.submit({ 10000.times { context.addCost(1) } } as Runnable) }*.get()
+        executor.shutdown()
+
+        then:
+        context.cost == 40000
+    }
+
     // ============== START: Test/Stub classes ==============
     static class User {}
+
+    static class CountingHttpServletRequest extends MockHttpServletRequest {
+        List<String> requested = []
+
+        @Override
+        String[] getParameterValues(String name) {
+            requested << name
+            super.getParameterValues(name)
+        }
+    }
     // ============== STOP: Test/Stub classes ==============
 }
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators.experimental
+
+import io.micrometer.context.ContextRegistry
+import io.micrometer.context.ContextSnapshotFactory
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import org.springframework.mock.web.MockHttpServletRequest
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+/**
+ * Specification tests propagation of QuerydslHttpRequestContext to worker threads by
+ * QuerydslHttpRequestContextTaskDecorator and QuerydslHttpRequestContextThreadLocalAccessor
+ */
+class QuerydslHttpRequestContextTaskDecoratorSpecs extends Specification {
+
+    def executor = Executors.newSingleThreadExecutor()
+    def decorator = new QuerydslHttpRequestContextTaskDecorator()
+    def context = new QuerydslHttpRequestContext(QUser.user, new MockHttpServletRequest())
+
+    def cleanup() {
+        QuerydslHttpRequestContextHolder.clearContext()
+        executor.shutdownNow()
+    }
+
+    def "it must bind the context of the submitting thread for the extent of a task only"() {
+        given:
+        def seen = null
+        QuerydslHttpRequestContextHolder.setContext(context)
+
+        when:
+        executor.submit(decorator.decorate { seen = QuerydslHttpRequestContextHolder.getContext() }).get()
+        def after = currentContextOfWorker()
+
+        then:
+        seen.is(context)
+        after == null
+    }
+
+    def "it must not leak a stale context of a pooled thread to tasks submitted without context"() {
+        given:
+        def stale = new QuerydslHttpRequestContext(QUser.user, new MockHttpServletRequest())
+        executor.submit { QuerydslHttpRequestContextHolder.setContext(stale) }.get()
+        def seen = stale
+
+        when:
+        executor.submit(decorator.decorate { seen = QuerydslHttpRequestContextHolder.getContext() }).get()
+        def after = currentContextOfWorker()
+
+        then:
+        seen == null
+        after.is(stale)
+    }
+
+    def "it must capture and restore the context through context-propagation snapshots"() {
+        given:
+        // static interface methods are invoked reflectively
+        def factory = ContextSnapshotFactory.getMethod('builder').invoke(null).build()
+        def seen = null
+        QuerydslHttpRequestContextHolder.setContext(context)
+        def task = factory.captureAll().wrap { seen = QuerydslHttpRequestContextHolder.getContext() }
+        QuerydslHttpRequestContextHolder.clearContext()
+
+        when:
+        executor.submit(task).get()
+        def after = currentContextOfWorker()
+
+        then:
+        ContextRegistry.getInstance().getThreadLocalAccessors()
+                .any { it instanceof QuerydslHttpRequestContextThreadLocalAccessor }
+        seen.is(context)
+        after == null
+    }
+
+    private currentContextOfWorker() {
+        executor.submit({ QuerydslHttpRequestContextHolder.getContext() } as Callable).get()
+    }
+}
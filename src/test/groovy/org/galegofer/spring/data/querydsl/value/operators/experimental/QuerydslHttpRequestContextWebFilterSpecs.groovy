@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators.experimental
+
+import com.querydsl.core.types.Predicate
+import org.galegofer.spring.data.querydsl.value.operators.ExpressionProviderFactory
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.User
+import org.springframework.core.MethodParameter
+import org.springframework.core.convert.ConversionFailedException
+import org.springframework.core.convert.support.DefaultConversionService
+import org.springframework.data.querydsl.SimpleEntityPathResolver
+import org.springframework.data.querydsl.binding.MultiValueBinding
+import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer
+import org.springframework.data.querydsl.binding.QuerydslBindings
+import org.springframework.data.querydsl.binding.QuerydslBindingsFactory
+import org.springframework.data.querydsl.binding.QuerydslPredicate
+import org.springframework.data.web.querydsl.ReactiveQuerydslPredicateArgumentResolver
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest
+import org.springframework.mock.web.server.MockServerWebExchange
+import org.springframework.web.reactive.BindingContext
+import org.springframework.web.server.WebFilterChain
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * Specification tests QuerydslHttpRequestContextWebFilter
+ */
+class QuerydslHttpRequestContextWebFilterSpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    static final MethodParameter SEARCH = new MethodParameter(SearchHandler.getMethod('search', Predicate), 0)
+
+    def filter = new QuerydslHttpRequestContextWebFilter(['/users/search': User])
+
+    def resolver = new ReactiveQuerydslPredicateArgumentResolver(
+            new QuerydslBindingsFactory(SimpleEntityPathResolver.INSTANCE), new DefaultConversionService())
+
+    def "it must build searches with original values from the Reactor context"() {
+        given:
+        def exchange = MockServerWebExchange.from(MockServerHttpRequest.get('/users/search')
+                .queryParam('employeeId', 'gt(5)', 'and(lt(10))')
+                .build())
+        def queryParams = null
+        def predicate = null
+        def chain = { e ->
+            queryParams = e.request.queryParams
+            ReactiveQuerydslHttpRequestContextHolder
+                    .withContext { ExpressionProviderFactory.getPredicate(user.employeeId, queryParams['employeeId']) }
+                    .doOnNext { predicate = it }
+                    .then()
+        } as WebFilterChain
+
+        when:
+        filter.filter(exchange, chain).block()
+
+        then:
+        queryParams['employeeId'] == ['5', '10']
+        predicate.get().toString() == 'user.employeeId > 5 && user.employeeId < 10'
+        QuerydslHttpRequestContextHolder.getContext() == null
+    }
+
+    def "it must resolve @QuerydslPredicate arguments with original values"() {
+        given:
+        def exchange = MockServerWebExchange.from(MockServerHttpRequest.get('/users/search')
+                .queryParam('employeeId', 'gt(5)', 'and(lt(10))')
+                .build())
+        def predicate = null
+        def chain = { e ->
+            Mono.fromCallable { resolver.resolveArgumentValue(SEARCH, new BindingContext(), e) }
+                    .doOnNext { predicate = it }
+                    .then()
+        } as WebFilterChain
+
+        when:
+        filter.filter(exchange, chain).block()
+
+        then:
+        predicate.toString() == 'user.employeeId > 5 && user.employeeId < 10'
+        QuerydslHttpRequestContextHolder.getContext() == null
+    }
+
+    def "it must keep value operators of query parameters read outside of the context"() {
+        given:
+        def exchange = MockServerWebExchange.from(MockServerHttpRequest.get('/users/search')
+                .queryParam('employeeId', 'gt(5)')
+                .build())
+        def queryParams = null
+        def chain = { e ->
+            Mono.delay(Duration.ofMillis(1))
+                    .doOnNext { queryParams = e.request.queryParams }
+                    .map { resolver.resolveArgumentValue(SEARCH, new BindingContext(), e) }
+                    .then()
+        } as WebFilterChain
+
+        when:
+        filter.filter(exchange, chain).block()
+
+        then: 'a typed path fails to convert the value rather than searching by equality'
+        thrown(ConversionFailedException)
+        queryParams['employeeId'] == ['gt(5)']
+    }
+
+    def "it must pass requests matching no mapping through untouched"() {
+        given:
+        def exchange = MockServerWebExchange.from(MockServerHttpRequest.get('/orders')
+                .queryParam('id', 'gt(5)')
+                .build())
+        def context = null
+        def chain = { e ->
+            ReactiveQuerydslHttpRequestContextHolder.getContext()
+                    .doOnNext { context = it }
+                    .then(Mono.fromRunnable { assert e.request.queryParams['id'] == ['gt(5)'] })
+        } as WebFilterChain
+
+        when:
+        filter.filter(exchange, chain).block()
+
+        then:
+        context == null
+    }
+
+    static class SearchHandler {
+
+        void search(@QuerydslPredicate(root = User, bindings = UserBindings) Predicate predicate) {
+        }
+    }
+
+    static class UserBindings implements QuerydslBinderCustomizer<QUser> {
+
+        @Override
+        void customize(QuerydslBindings bindings, QUser root) {
+            bindings.bind(root.employeeId)
+                    .all({ path, values -> ExpressionProviderFactory.getPredicate(path, values) } as MultiValueBinding)
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators.experimental
+
+import jakarta.servlet.FilterChain
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.User
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Specification tests scoped bindings of QuerydslHttpRequestContextHolderStrategy implementations and of
+ * QuerydslHttpRequestContextAwareServletFilter
+ */
+class ScopedValueQuerydslHttpRequestContextHolderStrategySpecs extends Specification {
+
+    static final QUser user = QUser.user
+
+    def outer = new QuerydslHttpRequestContext(user, new MockHttpServletRequest())
+    def inner = new QuerydslHttpRequestContext(user, new MockHttpServletRequest())
+
+    @Unroll
+    def "it must bind contexts for the dynamic extent of calls only with #strategy.class.simpleName"() {
+        given:
+        def seen = []
+
+        when:
+        def result = strategy.callWithContext(outer, {
+            seen << strategy.getContext()
+            strategy.callWithContext(inner,
+                    { seen << strategy.getContext() } as QuerydslHttpRequestContextHolderStrategy.ScopedCall)
+            seen << strategy.getContext()
+            'result'
+        } as QuerydslHttpRequestContextHolderStrategy.ScopedCall)
+
+        then:
+        result == 'result'
+        seen[0].is(outer)
+        seen[1].is(inner)
+        seen[2].is(outer)
+        strategy.getContext() == null
+
+        where:
+        strategy << [new ScopedValueQuerydslHttpRequestContextHolderStrategy(),
+                     new ThreadLocalQuerydslHttpRequestContextHolderStrategy(false)]
+    }
+
+    @Unroll
+    def "it must restore the previous context when a call fails with #strategy.class.simpleName"() {
+        given:
+        strategy.setContext(outer)
+
+        when:
+        strategy.callWithContext(inner,
+                { throw new IOException('failed') } as QuerydslHttpRequestContextHolderStrategy.ScopedCall)
+
+        then:
+        def e = thrown(IOException)
+        e.message == 'failed'
+        strategy.getContext().is(outer)
+
+        cleanup:
+        strategy.clearContext()
+
+        where:
+        strategy << [new ScopedValueQuerydslHttpRequestContextHolderStrategy(),
+                     new ThreadLocalQuerydslHttpRequestContextHolderStrategy(false)]
+    }
+
+    def "it must fall back to ThreadLocal where ScopedValue is unavailable"() {
+        given:
+        def strategy = new ScopedValueQuerydslHttpRequestContextHolderStrategy()
+        def available = true
+        try {
+            Class.forName('java.lang.ScopedValue')
+        } catch (ClassNotFoundException ignored) {
+            available = false
+        }
+
+        expect:
+        available || !strategy.scopedValueSupported
+
+        when:
+        strategy.setContext(outer)
+
+        then:
+        strategy.getContext().is(outer)
+
+        when:
+        strategy.clearContext()
+
+        then:
+        strategy.getContext() == null
+    }
+
+    def "it must bind contexts to a scoped value where it's available"() {
+        given:
+        def strategy = new ScopedValueQuerydslHttpRequestContextHolderStrategy(StubScopedValue.name)
+        def seen = null
+
+        when:
+        strategy.callWithContext(outer,
+                { seen = strategy.getContext() } as QuerydslHttpRequestContextHolderStrategy.ScopedCall)
+
+        then:
+        strategy.scopedValueSupported
+        seen.is(outer)
+        strategy.getContext() == null
+    }
+
+    def "it must not leak a bound context restored through setContext past its binding"() {
+        given:
+        def strategy = new ScopedValueQuerydslHttpRequestContextHolderStrategy(StubScopedValue.name)
+        def seen = []
+
+        when:
+        strategy.callWithContext(outer, {
+            // as a task decorated without context, or a context-propagation scope, runs on the calling thread
+            def previous = strategy.getContext()
+            strategy.clearContext()
+            seen << strategy.getContext()
+            strategy.setContext(previous)
+            seen << strategy.getContext()
+        } as QuerydslHttpRequestContextHolderStrategy.ScopedCall)
+
+        then:
+        seen[0] == null
+        seen[1].is(outer)
+        strategy.getContext() == null
+    }
+
+    def "it must override a bound context for the extent of its binding only"() {
+        given:
+        def strategy = new ScopedValueQuerydslHttpRequestContextHolderStrategy(StubScopedValue.name)
+        def unscoped = new QuerydslHttpRequestContext(user, new MockHttpServletRequest())
+        def seen = []
+        strategy.setContext(unscoped)
+
+        when:
+        strategy.callWithContext(outer, {
+            strategy.setContext(inner)
+            seen << strategy.getContext()
+            strategy.callWithContext(outer, {
+                seen << strategy.getContext()
+                strategy.clearContext()
+            } as QuerydslHttpRequestContextHolderStrategy.ScopedCall)
+            seen << strategy.getContext()
+        } as QuerydslHttpRequestContextHolderStrategy.ScopedCall)
+
+        then:
+        seen[0].is(inner)
+        seen[1].is(outer)
+        seen[2].is(inner)
+        strategy.getContext().is(unscoped)
+
+        cleanup:
+        strategy.clearContext()
+    }
+
+    def "it must restore the context of the outer request after nested dispatches"() {
+        given:
+        def filter = new QuerydslHttpRequestContextAwareServletFilter(['/users/search': User])
+        def request = new MockHttpServletRequest('GET', '/users/search')
+        request.addParameter('employeeId', 'gt(5)')
+        def contexts = []
+        def chain
+        chain = { req, res ->
+            contexts << QuerydslHttpRequestContextHolder.getContext()
+            if (contexts.size() == 1) {
+                def forwarded = new MockHttpServletRequest('GET', '/users/search')
+                forwarded.addParameter('employeeId', 'lt(10)')
+                filter.doFilter(forwarded, res, chain)
+                contexts << QuerydslHttpRequestContextHolder.getContext()
+            }
+        } as FilterChain
+
+        when:
+        filter.doFilter(request, new MockHttpServletResponse(), chain)
+
+        then:
+        contexts.size() == 3
+        contexts[0].getAllValues(user.employeeId) == ['gt(5)'] as String[]
+        contexts[1].getAllValues(user.employeeId) == ['lt(10)'] as String[]
+        contexts[2].is(contexts[0])
+        QuerydslHttpRequestContextHolder.getContext() == null
+    }
+}
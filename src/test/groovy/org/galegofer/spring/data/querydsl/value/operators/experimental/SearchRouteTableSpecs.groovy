@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators.experimental
+
+import org.springframework.mock.web.MockHttpServletRequest
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Specification tests SearchRouteTable
+ */
+class SearchRouteTableSpecs extends Specification {
+
+    def table = new SearchRouteTable<String>([
+            '/users/search'     : 'users',
+            '/users/**'         : 'any user resource',
+            '/{resource}/search': 'templated',
+            '/app/orders'       : 'orders'])
+
+    @Unroll
+    def "it must route #uri with context path '#contextPath' to #expected"() {
+        given:
+        def request = new MockHttpServletRequest('GET', uri)
+        request.contextPath = contextPath
+
+        expect:
+        table.find(request) == expected
+
+        where:
+        uri                      | contextPath | expected
+        '/users/search'          | ''          | 'users'
+        '/USERS/Search'          | ''          | 'users'
+        '/app/users/search'      | '/app'      | 'users'
+        '/users/search/bulk'     | ''          | 'any user resource'
+        '/emails/search'         | ''          | 'templated'
+        '/app/orders'            | '/app'      | 'orders'
+        '/orders'                | ''          | null
+        '/emails/search/more'    | ''          | null
+    }
+}
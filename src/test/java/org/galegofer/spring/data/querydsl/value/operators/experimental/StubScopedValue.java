@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators.experimental;
+
+/**
+ * Stand-in for the API of <code>java.lang.ScopedValue</code> used by
+ * {@link ScopedValueQuerydslHttpRequestContextHolderStrategy}, binding values to the current thread for the extent of
+ * {@link Carrier#run(Runnable)}, for JDKs where <code>ScopedValue</code> is unavailable.
+ */
+public final class StubScopedValue {
+
+    private static final Object UNBOUND = new Object();
+
+    private final ThreadLocal<Object> binding = ThreadLocal.withInitial(() -> UNBOUND);
+
+    private StubScopedValue() {
+    }
+
+    public static StubScopedValue newInstance() {
+        return new StubScopedValue();
+    }
+
+    public static Carrier where(StubScopedValue key, Object value) {
+        return new Carrier(key, value);
+    }
+
+    public boolean isBound() {
+        return binding.get() != UNBOUND;
+    }
+
+    public Object get() {
+        final var value = binding.get();
+        if (value == UNBOUND) {
+            throw new IllegalStateException("Not bound");
+        }
+        return value;
+    }
+
+    public static final class Carrier {
+
+        private final StubScopedValue key;
+        private final Object value;
+
+        private Carrier(StubScopedValue key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public void run(Runnable action) {
+            final var previous = key.binding.get();
+            key.binding.set(value);
+            try {
+                action.run();
+            } finally {
+                key.binding.set(previous);
+            }
+        }
+    }
+}
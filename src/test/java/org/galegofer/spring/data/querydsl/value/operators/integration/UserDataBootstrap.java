@@ -58,7 +58,7 @@ public class UserDataBootstrap implements ResourceLoaderAware {
                                 repository.save(mapper.readValue(is, User.class));
                             }
                         } catch (Throwable t) {
-                            throw new RuntimeException("Failed to bootstrap application integration test user data");
+                            throw new RuntimeException("Failed to bootstrap application integration test user data", t);
                         }
                     });
         }
@@ -15,58 +15,33 @@
  *******************************************************************************/
 package org.galegofer.spring.data.querydsl.value.operators.integration.dao;
 
-import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.types.Predicate;
 import jakarta.transaction.Transactional;
 import org.galegofer.spring.data.querydsl.value.operators.ExpressionProviderFactory;
+import org.galegofer.spring.data.querydsl.value.operators.StringValuePolicy;
 import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser;
 import org.galegofer.spring.data.querydsl.value.operators.integration.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
-import org.springframework.data.querydsl.binding.QuerydslPredicate;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestMethod;
 
 
 /**
  *
- * Spring data repository for {@link User} resource which is also exposed as a
- * {@link org.springframework.web.bind.annotation.RestController} and provides search capabilities using this SDK
- * library.
+ * Spring data repository for {@link User} resource, searched through
+ * {@link org.galegofer.spring.data.querydsl.value.operators.integration.web.UserSearchController} with search
+ * capabilities of this SDK library.
  *
  * @author gt_tech
  */
 @Transactional
 @Repository
-@RepositoryRestResource(collectionResourceRel = "users", path = "/users")
-@RequestMapping(value = "/users")
+@RepositoryRestResource(collectionResourceRel = "users", path = "users")
 public interface UserRepository extends JpaRepository<User, String>, QuerydslPredicateExecutor<User>,
                                         QuerydslBinderCustomizer<QUser> {
 
-    @RequestMapping(path = {"/search"}, produces = {MediaType.APPLICATION_JSON_VALUE}, method = {
-            RequestMethod.GET,
-            RequestMethod.POST
-    })
-    default ResponseEntity<Iterable<User>> searchUser(@QuerydslPredicate(root = User.class) Predicate
-                                                              predicate) {
-        System.out.println("Predicate: " + predicate);
-
-
-        if (predicate == null || (BooleanBuilder.class.isAssignableFrom(predicate.getClass())
-                && !((BooleanBuilder) predicate).hasValue())) {
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        } else {
-            return ResponseEntity.ok(this.findAll(predicate));
-        }
-    }
-
     @Override
     default void customize(QuerydslBindings bindings, QUser root) {
 
@@ -113,6 +88,13 @@ public interface UserRepository extends JpaRepository<User, String>, QuerydslPre
         // alias(es) explicitly.
         // ListPath won't work without alias anyway easily or as elegantly..
         ExpressionProviderFactory.registerAlias(root.emails.any().address, "emails.address");
+        // e-mail addresses contain dots, which the default string value policy doesn't allow
+        ExpressionProviderFactory.registerStringValuePolicy("emails.address", StringValuePolicy.builder()
+                .allowLetters()
+                .allowDigits()
+                .allowCharacters("-_@.+")
+                .length(1, 254)
+                .build());
 
 
         bindings.bind(root.status)
@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.galegofer.spring.data.querydsl.value.operators.integration.spring;
 
+import jakarta.servlet.DispatcherType;
 import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslHttpRequestContextAwareServletFilter;
 import org.galegofer.spring.data.querydsl.value.operators.experimental.QuerydslPredicateArgumentResolverBeanPostProcessor;
 import org.galegofer.spring.data.querydsl.value.operators.integration.model.User;
@@ -47,7 +48,8 @@ public class QueryDslValueOperatorsConfig {
         FilterRegistrationBean bean = new FilterRegistrationBean();
         bean.setFilter(new QuerydslHttpRequestContextAwareServletFilter(
                 querydslHttpRequestContextAwareServletFilterMappings()));
-        bean.setAsyncSupported(false);
+        bean.setAsyncSupported(true);
+        bean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
         bean.setEnabled(true);
         bean.setName("querydslHttpRequestContextAwareServletFilter");
         bean.setUrlPatterns(Arrays.asList(new String[]{"/users/*"}));
@@ -29,7 +29,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.contains;
@@ -375,4 +377,20 @@ public class UsersSearchIT {
         assertThat(response.getBody(), contains(
                 hasProperty("userName", is("ksmith"))));
     }
+
+    @Test
+    public void testUserStreamWritesUsersLikeSearch() {
+        ResponseEntity<List<Map<String, Object>>> search = template.exchange("/users/search?enabled=true",
+                HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<Map<String, Object>>>() {
+                });
+        ResponseEntity<List<Map<String, Object>>> stream = template.exchange("/users/search/stream?enabled=true",
+                HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<Map<String, Object>>>() {
+                });
+
+        assertEquals(3, stream.getBody()
+                .size());
+        assertEquals(new HashSet<>(search.getBody()), new HashSet<>(stream.getBody()));
+    }
 }
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2018 @gt_tech
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.galegofer.spring.data.querydsl.value.operators.integration.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import jakarta.persistence.EntityManager;
+import org.galegofer.spring.data.querydsl.value.operators.BulkLookup;
+import org.galegofer.spring.data.querydsl.value.operators.KeysetSearch;
+import org.galegofer.spring.data.querydsl.value.operators.integration.dao.UserRepository;
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.QUser;
+import org.galegofer.spring.data.querydsl.value.operators.integration.model.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Search endpoints of {@link User} resource, whose predicates are bound by the customizations of
+ * {@link UserRepository}.
+ */
+@RestController
+@RequestMapping(value = "/users")
+public class UserSearchController {
+
+    /**
+     * Opts identifiers in to chunked execution of oversized IN lists, see {@link #bulkSearchUser(Predicate)}.
+     */
+    static final BulkLookup BULK_LOOKUP = BulkLookup.builder()
+            .path(QUser.user._id, 1000)
+            .path(QUser.user.employeeId, 1000)
+            .build();
+
+    private final UserRepository repository;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Searches users 500 at a time by identifier, see {@link #streamUser(Predicate)}. Users of consumed windows are
+     * detached from the open-in-view {@link EntityManager}, which spans the whole response.
+     */
+    private final KeysetSearch keysetSearch;
+
+    public UserSearchController(UserRepository repository, ObjectMapper objectMapper, EntityManager entityManager) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.keysetSearch = KeysetSearch.builder(Sort.by("_id"))
+                .fetchSize(500)
+                .afterWindow(entityManager::clear)
+                .build();
+    }
+
+    @RequestMapping(path = {"/search"}, produces = {MediaType.APPLICATION_JSON_VALUE}, method = {
+            RequestMethod.GET,
+            RequestMethod.POST
+    })
+    public ResponseEntity<Iterable<User>> searchUser(@QuerydslPredicate(root = User.class) Predicate predicate) {
+        System.out.println("Predicate: " + predicate);
+
+
+        if (predicate == null || (BooleanBuilder.class.isAssignableFrom(predicate.getClass())
+                && !((BooleanBuilder) predicate).hasValue())) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } else {
+            return ResponseEntity.ok(repository.findAll(predicate));
+        }
+    }
+
+    /**
+     * Same as {@link #searchUser(Predicate)} but for bulk lookups by thousands of identifiers, which are searched with
+     * IN lists of at most 1000 values.
+     */
+    @RequestMapping(path = {"/bulk-search"}, produces = {MediaType.APPLICATION_JSON_VALUE}, method = {
+            RequestMethod.GET,
+            RequestMethod.POST
+    })
+    public ResponseEntity<Iterable<User>> bulkSearchUser(@QuerydslPredicate(root = User.class) Predicate predicate) {
+        if (predicate == null || (BooleanBuilder.class.isAssignableFrom(predicate.getClass())
+                && !((BooleanBuilder) predicate).hasValue())) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } else {
+            return ResponseEntity.ok(BULK_LOOKUP.findAll(repository, predicate));
+        }
+    }
+
+    /**
+     * Same as {@link #searchUser(Predicate)} but writes users to the response as they're fetched, 500 at a time, so
+     * that memory stays constant regardless of the number of users found.
+     */
+    @RequestMapping(path = {"/search/stream"}, produces = {MediaType.APPLICATION_JSON_VALUE}, method = {
+            RequestMethod.GET,
+            RequestMethod.POST
+    })
+    public ResponseEntity<StreamingResponseBody> streamUser(@QuerydslPredicate(root = User.class) Predicate predicate) {
+        if (predicate == null || (BooleanBuilder.class.isAssignableFrom(predicate.getClass())
+                && !((BooleanBuilder) predicate).hasValue())) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> {
+                    try (Stream<User> users = keysetSearch.stream(repository, predicate);
+                         JsonGenerator generator = objectMapper.createGenerator(out)) {
+                        generator.writeStartArray();
+                        for (Iterator<User> iterator = users.iterator(); iterator.hasNext(); ) {
+                            generator.writeObject(iterator.next());
+                        }
+                        generator.writeEndArray();
+                    }
+                });
+    }
+}